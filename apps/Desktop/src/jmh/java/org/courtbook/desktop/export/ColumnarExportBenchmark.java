@@ -0,0 +1,129 @@
+package org.courtbook.desktop.export;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.models.Court;
+import org.courtbook.desktop.models.Role;
+import org.courtbook.desktop.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write and read cost of the columnar export format. Setup writes the data
+ * set once, reads it back with {@link ColumnarBookingReader} and fails the run
+ * unless every row comes back with the fields the format stores. The data set
+ * spans several row groups and includes the edge cases the encoders handle:
+ * missing users, courts and statuses, invalid times and non-ASCII names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarExportBenchmark {
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Param({"100000"})
+    public int bookings;
+
+    private List<Booking> rows;
+    private Path readFile;
+    private Path writeFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(5);
+        long base = 1_735_718_400_000L;
+        rows = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            int userId = 1 + random.nextInt(2000);
+            int courtId = 1 + random.nextInt(12);
+            long start = base + random.nextInt(365 * 24) * 3_600_000L;
+            int roll = random.nextInt(100);
+            User user = roll == 0 ? null : new User(userId, (roll == 1 ? "Zoë Ångström " : "User ") + userId,
+                    roll == 2 ? null : "user" + userId + "@example.com", Role.USER);
+            Court court = roll == 3 ? null : new Court(courtId, "Court " + courtId, null, null);
+            rows.add(new Booking(i + 1, userId, courtId, start,
+                    roll == 4 ? Booking.INVALID_TIME : start + 3_600_000L, start - 86_400_000L,
+                    roll == 5 ? null : STATUSES[random.nextInt(STATUSES.length)], user, court));
+        }
+
+        readFile = Files.createTempFile("columnar-bench", ".cbc");
+        writeFile = Files.createTempFile("columnar-bench-write", ".cbc");
+        write(readFile);
+        verifyRoundTrip();
+        System.out.printf("%nColumnar file: %d bookings in %.1f KB, round trip verified%n",
+                bookings, Files.size(readFile) / 1e3);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(readFile);
+        Files.deleteIfExists(writeFile);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        write(writeFile);
+        return Files.size(writeFile);
+    }
+
+    @Benchmark
+    public long read() throws IOException {
+        long[] checksum = {0};
+        ColumnarBookingReader.read(readFile, booking -> checksum[0] += booking.id());
+        return checksum[0];
+    }
+
+    private void write(Path path) throws IOException {
+        try (BookingWriter writer = new ColumnarBookingWriter(path)) {
+            for (Booking booking : rows) {
+                writer.write(booking);
+            }
+        }
+    }
+
+    private void verifyRoundTrip() throws IOException {
+        int[] position = {0};
+        long count = ColumnarBookingReader.read(readFile, booking -> {
+            Booking expected = rows.get(position[0]++);
+            if (!sameStoredFields(expected, booking)) {
+                throw new IllegalStateException("Row " + (position[0] - 1) + " read back as " + booking
+                        + ", expected " + expected);
+            }
+        });
+        if (count != rows.size() || position[0] != rows.size()) {
+            throw new IllegalStateException("Read back " + count + " rows, wrote " + rows.size());
+        }
+    }
+
+    // Users and courts are stored by name (and email) only
+    private static boolean sameStoredFields(Booking a, Booking b) {
+        return a.id() == b.id() && a.userId() == b.userId() && a.courtId() == b.courtId()
+                && a.startMillis() == b.startMillis() && a.endMillis() == b.endMillis()
+                && a.createdMillis() == b.createdMillis() && a.status() == b.status()
+                && Objects.equals(a.user() != null ? a.user().name() : null, b.user() != null ? b.user().name() : null)
+                && Objects.equals(a.user() != null ? a.user().email() : null, b.user() != null ? b.user().email() : null)
+                && Objects.equals(a.court() != null ? a.court().name() : null, b.court() != null ? b.court().name() : null);
+    }
+}
@@ -0,0 +1,110 @@
+package org.courtbook.desktop.index;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.models.Role;
+import org.courtbook.desktop.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the admin panel's search index: building it from scratch, syncing
+ * it to a reload in which a few percent of bookings changed, and answering
+ * typical queries. The index's estimated footprint is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingSearchIndexBenchmark {
+    private static final int USERS = 5000;
+    private static final String[] QUERIES = {"user 12", "@example", "#4242", "ser 9"};
+
+    @Param({"100000"})
+    public int bookings;
+
+    private List<Booking> reload;
+    private List<Booking> changed; // 2% re-assigned users, 1% removed, 1% added
+    private BookingSearchIndex syncedIndex;
+    private BookingSearchIndex queryIndex;
+    private boolean flip;
+    private int queryIndexPosition;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = new User(i + 1, "User " + (i + 1), "user" + (i + 1) + "@example.com", Role.USER);
+        }
+        reload = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            reload.add(booking(i + 1, users[random.nextInt(USERS)]));
+        }
+
+        changed = new ArrayList<>(bookings);
+        for (Booking booking : reload) {
+            int roll = random.nextInt(100);
+            if (roll < 2) {
+                changed.add(booking(booking.id(), users[random.nextInt(USERS)]));
+            } else if (roll > 2) {
+                changed.add(booking);
+            }
+        }
+        for (int i = 0; i < bookings / 100; i++) {
+            changed.add(booking(bookings + i + 1, users[random.nextInt(USERS)]));
+        }
+
+        syncedIndex = new BookingSearchIndex();
+        syncedIndex.sync(reload);
+        queryIndex = new BookingSearchIndex();
+        queryIndex.sync(reload);
+        System.out.printf("%nIndex footprint: %d bookings, ~%.1f MB (estimatedBytes)%n",
+                queryIndex.size(), queryIndex.estimatedBytes() / 1e6);
+    }
+
+    private static Booking booking(int id, User user) {
+        long start = 1_735_718_400_000L + id * 3_600_000L;
+        return new Booking(id, user.id(), 1 + id % 8, start, start + 3_600_000L, start - 86_400_000L,
+                BookingStatus.CONFIRMED, user, null);
+    }
+
+    @Benchmark
+    public BookingSearchIndex coldBuild() {
+        BookingSearchIndex index = new BookingSearchIndex();
+        index.sync(reload);
+        return index;
+    }
+
+    // Alternates between the two lists, so every call applies a real delta
+    @Benchmark
+    public int resync() {
+        flip = !flip;
+        syncedIndex.sync(flip ? changed : reload);
+        return syncedIndex.size();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Set<Integer> query() {
+        queryIndexPosition = (queryIndexPosition + 1) % QUERIES.length;
+        return queryIndex.search(QUERIES[queryIndexPosition]);
+    }
+}
@@ -0,0 +1,91 @@
+package org.courtbook.desktop.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.courtbook.desktop.models.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of a bookings response, per booking: the streaming decoder with
+ * the hand-written deserializers that ApiService uses, against the previous
+ * approach of reading the whole body into a JsonNode tree and mapping each
+ * element with treeToValue. Run with {@code -prof gc} to see allocation per
+ * booking (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingDecodeBenchmark {
+    private static final int BOOKINGS = 1000;
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "CANCELLED", "COMPLETED"};
+
+    // Plain mapper without ModelModule, i.e. reflection via @JsonCreator
+    private final ObjectMapper treeMapper = new ObjectMapper();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        long base = Instant.parse("2025-01-01T08:00:00Z").toEpochMilli();
+        StringBuilder json = new StringBuilder("{\"data\":{\"bookings\":[");
+        for (int i = 0; i < BOOKINGS; i++) {
+            int userId = 1 + random.nextInt(200);
+            int courtId = 1 + random.nextInt(8);
+            long start = base + random.nextInt(365 * 24) * 3_600_000L;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"userId\":").append(userId)
+                    .append(",\"courtId\":").append(courtId)
+                    .append(",\"startTime\":\"").append(Instant.ofEpochMilli(start))
+                    .append("\",\"endTime\":\"").append(Instant.ofEpochMilli(start + 3_600_000L))
+                    .append("\",\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)])
+                    .append("\",\"createdAt\":\"").append(Instant.ofEpochMilli(start - 86_400_000L))
+                    .append("\",\"updatedAt\":\"").append(Instant.ofEpochMilli(start - 86_400_000L))
+                    .append("\",\"user\":{\"id\":").append(userId)
+                    .append(",\"name\":\"User ").append(userId)
+                    .append("\",\"email\":\"user").append(userId).append("@example.com\",\"role\":\"USER\"}")
+                    .append(",\"court\":{\"id\":").append(courtId)
+                    .append(",\"name\":\"Court ").append(courtId)
+                    .append("\",\"location\":\"Hall 1\",\"status\":\"AVAILABLE\"}}");
+        }
+        body = json.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void streamingDecoders(Blackhole blackhole) throws IOException {
+        ApiService.readBookings(new ByteArrayInputStream(body), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void treeToValue(Blackhole blackhole) throws IOException {
+        JsonNode root = treeMapper.readTree(body);
+        for (JsonNode node : root.get("data").get("bookings")) {
+            blackhole.consume(treeMapper.treeToValue(node, Booking.class));
+        }
+    }
+}
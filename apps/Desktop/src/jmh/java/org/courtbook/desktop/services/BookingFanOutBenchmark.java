@@ -0,0 +1,73 @@
+package org.courtbook.desktop.services;
+
+import org.courtbook.desktop.loadtest.StandInServer;
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.Court;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load all courts' bookings: one request for everything against one
+ * request per court with {@link ApiService#getAllBookingsFanOut}, over the
+ * loopback stand-in server. The stand-in's per-request latency models network
+ * and database time; serializing the response is real serial server work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingFanOutBenchmark {
+    private static final int BOOKINGS = 20_000;
+
+    @Param({"4", "16"})
+    public int courts;
+
+    @Param({"0", "20", "100"})
+    public int latencyMillis;
+
+    // 16 lets every court's request be in flight at once
+    @Param({"4", "16"})
+    public int maxConcurrent;
+
+    private StandInServer server;
+    private ApiService apiService;
+    private List<Court> courtList;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = new StandInServer(BOOKINGS, courts, latencyMillis);
+        apiService = new ApiService(server.baseUrl());
+        apiService.login("bench@example.com", "bench");
+        courtList = apiService.getCourts();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<Booking> singleRequest() throws Exception {
+        return apiService.getAllBookings(null, "ALL");
+    }
+
+    @Benchmark
+    public List<Booking> fanOut() throws Exception {
+        return apiService.getAllBookingsFanOut(courtList, "ALL", maxConcurrent, null);
+    }
+}
@@ -1,15 +1,41 @@
 package org.courtbook.desktop;
 
+import org.courtbook.desktop.cli.BatchCommand;
+import org.courtbook.desktop.diagnostics.DiagnosticsLog;
+import org.courtbook.desktop.diagnostics.UiWatchdog;
+import org.courtbook.desktop.loadtest.LoadTest;
+import org.courtbook.desktop.loadtest.StressTest;
 import org.courtbook.desktop.models.User;
 import org.courtbook.desktop.services.ApiService;
-import org.courtbook.desktop.ui.AdminPanel;
-import org.courtbook.desktop.ui.LoginDialog;
+import org.courtbook.desktop.ui.SessionManager;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Arrays;
 
 public class Main {
     public static void main(String[] args) {
+        // Headless batch mode for cron jobs, must not touch Swing
+        if (args.length > 0 && args[0].equals("batch")) {
+            System.exit(BatchCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("loadtest")) {
+            System.exit(LoadTest.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("stress")) {
+            System.exit(StressTest.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        // Watch the EDT for stalls unless disabled with -Dcourtbook.watchdog=false
+        if (!"false".equals(System.getProperty("courtbook.watchdog"))) {
+            try {
+                UiWatchdog.install(Long.getLong("courtbook.stallMillis", 200),
+                        new DiagnosticsLog(DiagnosticsLog.defaultDirectory()));
+            } catch (Exception e) {
+                System.out.println("UI watchdog unavailable: " + e.getMessage());
+            }
+        }
+
         // Ensure we're running on the EDT
         SwingUtilities.invokeLater(() -> {
             new Main().start();
@@ -18,13 +44,15 @@ public class Main {
 
     private void start() {
         ApiService apiService = new ApiService();
+        // Further venues and accounts open from the admin panel in this process
+        SessionManager sessions = new SessionManager(apiService.getApiBaseUrl());
         
         // Try to get current user (if already logged in)
         try {
             User user = apiService.getCurrentUser();
             if (user != null && user.isAdmin()) {
                 // User is already logged in and is admin, show admin panel
-                showAdminPanel(apiService, user);
+                sessions.show(apiService, user);
                 return;
             }
         } catch (Exception e) {
@@ -32,24 +60,9 @@ public class Main {
         }
 
         // Show login dialog
-        showLoginDialog(apiService);
-    }
-
-    private void showLoginDialog(ApiService apiService) {
-        LoginDialog loginDialog = new LoginDialog(null, apiService);
-        loginDialog.setVisible(true);
-
-        if (loginDialog.isLoginSuccessful()) {
-            User user = loginDialog.getLoggedInUser();
-            showAdminPanel(apiService, user);
-        } else {
+        if (!sessions.openSession(null)) {
             // User closed login dialog without logging in
             System.exit(0);
         }
     }
-
-    private void showAdminPanel(ApiService apiService, User user) {
-        AdminPanel adminPanel = new AdminPanel(apiService, user);
-        adminPanel.setVisible(true);
-    }
 }
@@ -0,0 +1,218 @@
+package org.courtbook.desktop.analytics;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Court utilization statistics over the loaded bookings: occupied minutes by
+ * weekday and hour, cancellation rate and average booking lead time per court.
+ * The first load is aggregated with a parallel stream over primitive arrays.
+ * Later loads are diffed against the previous one by booking id, so only the
+ * bookings that were added, removed or changed touch their buckets.
+ */
+public class BookingAnalytics {
+    public static final int DAYS = 7;
+    public static final int HOURS = 24;
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    // Primitive snapshot of what each booking contributed last time
+    private record Entry(int courtId, long start, long end, long created, boolean cancelled) {}
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Integer, CourtStats> stats = new HashMap<>();
+    private final Map<Integer, String> courtNames = new HashMap<>();
+
+    /**
+     * Updates the statistics to reflect the given bookings and returns the ids
+     * of courts whose statistics changed.
+     */
+    public synchronized Set<Integer> update(List<Booking> bookings) {
+        for (Booking booking : bookings) {
+            if (booking.court() != null) {
+                courtNames.put(booking.courtId(), booking.court().name());
+            }
+        }
+        if (entries.isEmpty()) {
+            return buildAll(bookings);
+        }
+
+        Set<Integer> changedCourts = new HashSet<>();
+        Set<Integer> seen = new HashSet<>();
+        for (Booking booking : bookings) {
+            seen.add(booking.id());
+            Entry entry = toEntry(booking);
+            Entry previous = entries.put(booking.id(), entry);
+            if (entry.equals(previous)) {
+                continue;
+            }
+            if (previous != null) {
+                apply(previous, -1);
+                changedCourts.add(previous.courtId());
+            }
+            apply(entry, 1);
+            changedCourts.add(entry.courtId());
+        }
+        entries.keySet().removeIf(id -> {
+            if (seen.contains(id)) {
+                return false;
+            }
+            Entry removed = entries.get(id);
+            apply(removed, -1);
+            changedCourts.add(removed.courtId());
+            return true;
+        });
+        return changedCourts;
+    }
+
+    /**
+     * Occupied minutes per [weekday][hour] for one court, or for all courts
+     * when courtId is null. Weekday 0 is Monday.
+     */
+    public synchronized long[][] occupancy(Integer courtId) {
+        long[][] grid = new long[DAYS][HOURS];
+        for (Map.Entry<Integer, CourtStats> entry : stats.entrySet()) {
+            if (courtId != null && !courtId.equals(entry.getKey())) {
+                continue;
+            }
+            long[] minutes = entry.getValue().occupiedMinutes;
+            for (int i = 0; i < minutes.length; i++) {
+                grid[i / HOURS][i % HOURS] += minutes[i];
+            }
+        }
+        return grid;
+    }
+
+    public synchronized List<CourtSummary> summaries() {
+        List<CourtSummary> result = new ArrayList<>();
+        for (Map.Entry<Integer, CourtStats> entry : stats.entrySet()) {
+            CourtStats court = entry.getValue();
+            if (court.total == 0) {
+                continue;
+            }
+            long occupied = 0;
+            for (long minutes : court.occupiedMinutes) {
+                occupied += minutes;
+            }
+            result.add(new CourtSummary(
+                    entry.getKey(),
+                    courtNames.getOrDefault(entry.getKey(), "Court " + entry.getKey()),
+                    court.total,
+                    (double) court.cancelled / court.total,
+                    court.leadTimeCount > 0 ? (double) court.leadTimeMinutes / court.leadTimeCount / 60 : 0,
+                    occupied / 60.0));
+        }
+        result.sort((a, b) -> Integer.compare(a.courtId(), b.courtId()));
+        return Collections.unmodifiableList(result);
+    }
+
+    public record CourtSummary(int courtId, String courtName, int bookings, double cancellationRate,
+                               double averageLeadTimeHours, double occupiedHours) {}
+
+    // Full rebuild: copy to primitive arrays, then aggregate in parallel
+    private Set<Integer> buildAll(List<Booking> bookings) {
+        int n = bookings.size();
+        int[] ids = new int[n];
+        int[] courtIds = new int[n];
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        long[] created = new long[n];
+        boolean[] cancelled = new boolean[n];
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Booking booking = bookings.get(i);
+            ids[i] = booking.id();
+            courtIds[i] = booking.courtId();
+            starts[i] = booking.startMillis();
+            ends[i] = booking.endMillis();
+            created[i] = booking.createdMillis();
+            cancelled[i] = booking.isCancelled();
+        });
+
+        Map<Integer, CourtStats> aggregated = IntStream.range(0, n).parallel().collect(
+                HashMap::new,
+                (map, i) -> map.computeIfAbsent(courtIds[i], k -> new CourtStats())
+                        .add(starts[i], ends[i], created[i], cancelled[i], 1),
+                (left, right) -> right.forEach((courtId, court) ->
+                        left.merge(courtId, court, CourtStats::merge)));
+
+        stats.clear();
+        stats.putAll(aggregated);
+        for (int i = 0; i < n; i++) {
+            entries.put(ids[i], new Entry(courtIds[i], starts[i], ends[i], created[i], cancelled[i]));
+        }
+        return new HashSet<>(stats.keySet());
+    }
+
+    private void apply(Entry entry, int sign) {
+        stats.computeIfAbsent(entry.courtId(), k -> new CourtStats())
+                .add(entry.start(), entry.end(), entry.created(), entry.cancelled(), sign);
+    }
+
+    private static Entry toEntry(Booking booking) {
+        return new Entry(booking.courtId(), booking.startMillis(), booking.endMillis(),
+                booking.createdMillis(), booking.isCancelled());
+    }
+
+    private static class CourtStats {
+        private final long[] occupiedMinutes = new long[DAYS * HOURS];
+        private int total;
+        private int cancelled;
+        private long leadTimeMinutes;
+        private int leadTimeCount;
+
+        void add(long start, long end, long created, boolean isCancelled, int sign) {
+            total += sign;
+            if (isCancelled) {
+                cancelled += sign;
+            }
+            if (start == Booking.INVALID_TIME || end == Booking.INVALID_TIME) {
+                return;
+            }
+            if (created != Booking.INVALID_TIME && created <= start) {
+                leadTimeMinutes += sign * ((start - created) / MINUTE);
+                leadTimeCount += sign;
+            }
+            if (isCancelled) {
+                return;
+            }
+            // Spread the booked minutes over the hour buckets they fall in,
+            // capped at a week so a malformed end time can't spin here
+            long cappedEnd = Math.min(end, start + DAYS * DAY);
+            for (long t = start; t < cappedEnd; ) {
+                long hourEnd = Math.min(cappedEnd, (Math.floorDiv(t, HOUR) + 1) * HOUR);
+                occupiedMinutes[bucket(t)] += sign * ((hourEnd - t) / MINUTE);
+                t = hourEnd;
+            }
+        }
+
+        CourtStats merge(CourtStats other) {
+            for (int i = 0; i < occupiedMinutes.length; i++) {
+                occupiedMinutes[i] += other.occupiedMinutes[i];
+            }
+            total += other.total;
+            cancelled += other.cancelled;
+            leadTimeMinutes += other.leadTimeMinutes;
+            leadTimeCount += other.leadTimeCount;
+            return this;
+        }
+
+        // Epoch day 0 (1970-01-01) was a Thursday, so shift by 3 to start weeks on Monday
+        private static int bucket(long millis) {
+            long days = Math.floorDiv(millis, DAY);
+            int weekday = Math.floorMod(days + 3, 7);
+            int hour = (int) (Math.floorMod(millis, DAY) / HOUR);
+            return weekday * HOURS + hour;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.courtbook.desktop.archive;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.models.Court;
+import org.courtbook.desktop.models.User;
+import org.courtbook.desktop.services.ModelInterner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * One immutable, memory-mapped archive file holding a month of bookings.
+ *
+ * Layout: a 32 byte header (magic "CBSEG", version, record count, court
+ * count, string heap offset, index offset), then fixed 52 byte records sorted
+ * by court and start time, then a deduplicated string heap, then a per-court
+ * index of record ranges with a sparse sample of every 64th start time.
+ * A range query binary searches the sample and scans at most 64 records
+ * before reaching the first match.
+ */
+class ArchiveSegment {
+    private static final byte[] MAGIC = "CBSEG".getBytes(StandardCharsets.US_ASCII);
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 52;
+    private static final int SPARSE_STEP = 64;
+
+    private final MappedByteBuffer data;
+    private final Map<Integer, CourtRange> courts = new TreeMap<>();
+    private final Map<Integer, String> strings = new HashMap<>();
+
+    private ArchiveSegment(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        for (byte b : MAGIC) {
+            if (data.get() != b) {
+                throw new IOException("Not a booking archive segment");
+            }
+        }
+        if (data.get() != VERSION) {
+            throw new IOException("Unsupported archive segment version");
+        }
+        data.position(8);
+        data.getInt(); // record count
+        int courtCount = data.getInt();
+        data.getLong(); // string heap offset
+        long indexOffset = data.getLong();
+
+        data.position((int) indexOffset);
+        for (int i = 0; i < courtCount; i++) {
+            int courtId = data.getInt();
+            int first = data.getInt();
+            int count = data.getInt();
+            int sparseCount = data.getInt();
+            long[] sparseStarts = new long[sparseCount];
+            for (int j = 0; j < sparseCount; j++) {
+                sparseStarts[j] = data.getLong();
+            }
+            courts.put(courtId, new CourtRange(first, count, sparseStarts));
+        }
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ArchiveSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Bookings on the court (or every court when null) starting in [from, to).
+     */
+    synchronized List<Booking> query(Integer courtId, long from, long to) {
+        List<Booking> result = new ArrayList<>();
+        for (Map.Entry<Integer, CourtRange> entry : courts.entrySet()) {
+            if (courtId != null && !courtId.equals(entry.getKey())) {
+                continue;
+            }
+            CourtRange range = entry.getValue();
+            // Last sampled record starting before `from`; matches begin at most one step later
+            int sample = Arrays.binarySearch(range.sparseStarts, from);
+            sample = sample >= 0 ? sample : -sample - 2;
+            // Equal start times can straddle samples, so step back over them
+            while (sample > 0 && range.sparseStarts[sample] >= from) {
+                sample--;
+            }
+            int record = range.first + Math.max(0, sample) * SPARSE_STEP;
+            int end = range.first + range.count;
+            for (; record < end; record++) {
+                long start = data.getLong(recordOffset(record) + 12);
+                if (start >= to) {
+                    break;
+                }
+                if (start >= from) {
+                    result.add(readRecord(record));
+                }
+            }
+        }
+        return result;
+    }
+
+    synchronized List<Booking> readAll() {
+        List<Booking> result = new ArrayList<>();
+        for (CourtRange range : courts.values()) {
+            for (int record = range.first; record < range.first + range.count; record++) {
+                result.add(readRecord(record));
+            }
+        }
+        return result;
+    }
+
+    private Booking readRecord(int record) {
+        int offset = recordOffset(record);
+        int userId = data.getInt(offset + 4);
+        int courtId = data.getInt(offset + 8);
+        String userName = readString(data.getInt(offset + 40));
+        String userEmail = readString(data.getInt(offset + 44));
+        String courtName = readString(data.getInt(offset + 48));
+        return new Booking(
+                data.getInt(offset),
+                userId,
+                courtId,
+                data.getLong(offset + 12),
+                data.getLong(offset + 20),
+                data.getLong(offset + 28),
+                BookingStatus.fromName(readString(data.getInt(offset + 36))),
+                userName != null || userEmail != null
+                        ? ModelInterner.shared().intern(new User(userId, userName, userEmail, null)) : null,
+                courtName != null ? ModelInterner.shared().intern(new Court(courtId, courtName, null, null)) : null);
+    }
+
+    private String readString(int offset) {
+        if (offset < 0) {
+            return null;
+        }
+        return strings.computeIfAbsent(offset, k -> {
+            int length = data.getInt(k);
+            byte[] bytes = new byte[length];
+            data.get(k + 4, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        });
+    }
+
+    private static int recordOffset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    /**
+     * Writes the bookings as a new segment file. The file is written under a
+     * temporary name and moved into place, so readers never see a partial file.
+     */
+    static void write(Path path, List<Booking> bookings) throws IOException {
+        Booking[] sorted = bookings.toArray(new Booking[0]);
+        Arrays.sort(sorted, (a, b) -> a.courtId() != b.courtId()
+                ? Integer.compare(a.courtId(), b.courtId())
+                : Long.compare(a.startMillis(), b.startMillis()));
+
+        // String heap, deduplicated
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        List<byte[]> heap = new ArrayList<>();
+        int[] heapSize = {0};
+        int recordsEnd = HEADER_SIZE + sorted.length * RECORD_SIZE;
+
+        ByteBuffer records = ByteBuffer.allocate(sorted.length * RECORD_SIZE);
+        Map<Integer, List<Long>> startsByCourt = new TreeMap<>();
+        Map<Integer, int[]> rangeByCourt = new TreeMap<>();
+        for (int i = 0; i < sorted.length; i++) {
+            Booking booking = sorted[i];
+            records.putInt(booking.id())
+                    .putInt(booking.userId())
+                    .putInt(booking.courtId())
+                    .putLong(booking.startMillis())
+                    .putLong(booking.endMillis())
+                    .putLong(booking.createdMillis());
+            String[] values = {
+                    Objects.toString(booking.status(), null),
+                    booking.user() != null ? booking.user().name() : null,
+                    booking.user() != null ? booking.user().email() : null,
+                    booking.court() != null ? booking.court().name() : null};
+            for (String value : values) {
+                if (value == null) {
+                    records.putInt(-1);
+                    continue;
+                }
+                records.putInt(stringOffsets.computeIfAbsent(value, v -> {
+                    byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+                    int offset = recordsEnd + heapSize[0];
+                    heap.add(bytes);
+                    heapSize[0] += 4 + bytes.length;
+                    return offset;
+                }));
+            }
+
+            int[] range = rangeByCourt.computeIfAbsent(booking.courtId(), k -> new int[]{-1, 0});
+            if (range[0] < 0) {
+                range[0] = i;
+            }
+            if (range[1] % SPARSE_STEP == 0) {
+                startsByCourt.computeIfAbsent(booking.courtId(), k -> new ArrayList<>())
+                        .add(booking.startMillis());
+            }
+            range[1]++;
+        }
+
+        int indexSize = 0;
+        for (List<Long> starts : startsByCourt.values()) {
+            indexSize += 16 + starts.size() * 8;
+        }
+        long indexOffset = recordsEnd + (long) heapSize[0];
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put(VERSION).put((byte) 0).put((byte) 0)
+                .putInt(sorted.length)
+                .putInt(rangeByCourt.size())
+                .putLong(recordsEnd)
+                .putLong(indexOffset);
+
+        ByteBuffer strings = ByteBuffer.allocate(heapSize[0]);
+        for (byte[] bytes : heap) {
+            strings.putInt(bytes.length).put(bytes);
+        }
+
+        ByteBuffer index = ByteBuffer.allocate(indexSize);
+        for (Map.Entry<Integer, int[]> entry : rangeByCourt.entrySet()) {
+            List<Long> starts = startsByCourt.get(entry.getKey());
+            index.putInt(entry.getKey()).putInt(entry.getValue()[0]).putInt(entry.getValue()[1]).putInt(starts.size());
+            for (long start : starts) {
+                index.putLong(start);
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] parts = {header.flip(), records.flip(), strings.flip(), index.flip()};
+            long remaining = (long) header.remaining() + records.remaining() + strings.remaining() + index.remaining();
+            while (remaining > 0) {
+                remaining -= channel.write(parts);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record CourtRange(int first, int count, long[] sparseStarts) {}
+}
@@ -0,0 +1,198 @@
+package org.courtbook.desktop.archive;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local archive of historical bookings, partitioned into one segment file per
+ * month of start time (see {@link ArchiveSegment}).
+ * Segments are never modified in place: archiving into a month writes a new
+ * generation of that month's file and switches readers over to it. Older
+ * generations are deleted when possible; on platforms that keep mapped files
+ * locked they are cleaned up the next time the archive is opened.
+ */
+public class BookingArchive {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("bookings-(\\d{4}-\\d{2})-(\\d{6})\\.seg");
+
+    private final Path directory;
+    private final Map<YearMonth, Segment> segments = new TreeMap<>();
+
+    // The fields a segment stores for a booking; user and court are kept by name only
+    private record StoredRow(int userId, int courtId, long startMillis, long endMillis, long createdMillis,
+                             BookingStatus status, String userName, String userEmail, String courtName) {
+        static StoredRow of(Booking booking) {
+            return new StoredRow(booking.userId(), booking.courtId(), booking.startMillis(), booking.endMillis(),
+                    booking.createdMillis(), booking.status(),
+                    booking.user() != null ? booking.user().name() : null,
+                    booking.user() != null ? booking.user().email() : null,
+                    booking.court() != null ? booking.court().name() : null);
+        }
+    }
+
+    private static class Segment {
+        private final int generation;
+        private final ArchiveSegment data;
+        // Booking id -> stored fields of the archived row, to skip no-op rewrites
+        private Map<Integer, StoredRow> rows;
+
+        Segment(int generation, ArchiveSegment data) {
+            this.generation = generation;
+            this.data = data;
+        }
+    }
+
+    public BookingArchive(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        Map<YearMonth, Integer> latest = new HashMap<>();
+        List<Path> all = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "bookings-*.seg")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    all.add(file);
+                    latest.merge(YearMonth.parse(matcher.group(1)), Integer.parseInt(matcher.group(2)), Math::max);
+                }
+            }
+        }
+        for (Path file : all) {
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+            matcher.matches();
+            YearMonth month = YearMonth.parse(matcher.group(1));
+            int generation = Integer.parseInt(matcher.group(2));
+            if (generation == latest.get(month)) {
+                segments.put(month, new Segment(generation, ArchiveSegment.open(file)));
+            } else {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Locked by another process, retried on next open
+                }
+            }
+        }
+    }
+
+    /**
+     * Default archive location in the user's home directory.
+     */
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("user.home"), ".courtbook", "archive");
+    }
+
+    /**
+     * Stores the given bookings, replacing archived copies with the same id.
+     * Months whose archived rows are already identical are left untouched.
+     * Returns the number of segment files rewritten.
+     */
+    public synchronized int archive(List<Booking> bookings) throws IOException {
+        Map<YearMonth, List<Booking>> byMonth = new TreeMap<>();
+        for (Booking booking : bookings) {
+            if (booking.startMillis() != Booking.INVALID_TIME) {
+                byMonth.computeIfAbsent(monthOf(booking.startMillis()), k -> new ArrayList<>()).add(booking);
+            }
+        }
+
+        int rewritten = 0;
+        for (Map.Entry<YearMonth, List<Booking>> entry : byMonth.entrySet()) {
+            YearMonth month = entry.getKey();
+            Segment existing = segments.get(month);
+            if (existing != null && !changes(existing, entry.getValue())) {
+                continue;
+            }
+
+            Map<Integer, Booking> merged = new LinkedHashMap<>();
+            if (existing != null) {
+                for (Booking booking : existing.data.readAll()) {
+                    merged.put(booking.id(), booking);
+                }
+            }
+            for (Booking booking : entry.getValue()) {
+                merged.put(booking.id(), booking);
+            }
+
+            int generation = existing != null ? existing.generation + 1 : 1;
+            Path path = segmentPath(month, generation);
+            ArchiveSegment.write(path, new ArrayList<>(merged.values()));
+            Segment segment = new Segment(generation, ArchiveSegment.open(path));
+            segment.rows = new HashMap<>();
+            for (Booking booking : merged.values()) {
+                segment.rows.put(booking.id(), StoredRow.of(booking));
+            }
+            segments.put(month, segment);
+            if (existing != null) {
+                try {
+                    Files.deleteIfExists(segmentPath(month, existing.generation));
+                } catch (IOException e) {
+                    // Still mapped on this platform, removed on next open
+                }
+            }
+            rewritten++;
+        }
+        return rewritten;
+    }
+
+    /**
+     * Archived bookings on the court (or all courts when null) that start in
+     * [from, to), ordered by court then start time.
+     */
+    public synchronized List<Booking> query(Integer courtId, long from, long to) {
+        List<Booking> result = new ArrayList<>();
+        YearMonth first = monthOf(from);
+        YearMonth last = monthOf(to - 1);
+        for (Map.Entry<YearMonth, Segment> entry : segments.entrySet()) {
+            if (!entry.getKey().isBefore(first) && !entry.getKey().isAfter(last)) {
+                result.addAll(entry.getValue().data.query(courtId, from, to));
+            }
+        }
+        return result;
+    }
+
+    private boolean changes(Segment segment, List<Booking> bookings) {
+        if (segment.rows == null) {
+            segment.rows = new HashMap<>();
+            for (Booking booking : segment.data.readAll()) {
+                segment.rows.put(booking.id(), StoredRow.of(booking));
+            }
+        }
+        for (Booking booking : bookings) {
+            if (!StoredRow.of(booking).equals(segment.rows.get(booking.id()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path segmentPath(YearMonth month, int generation) {
+        return directory.resolve(String.format("bookings-%s-%06d.seg", month, generation));
+    }
+
+    private static YearMonth monthOf(long millis) {
+        return YearMonth.from(LocalDate.ofEpochDay(Math.floorDiv(millis, DAY)));
+    }
+
+    /**
+     * Epoch millis at the start of the given date, in the same wall-clock
+     * convention as {@link Booking#startMillis()}.
+     */
+    public static long startOf(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,325 @@
+package org.courtbook.desktop.cli;
+
+import org.courtbook.desktop.export.BookingWriter;
+import org.courtbook.desktop.export.ColumnarBookingWriter;
+import org.courtbook.desktop.export.CsvBookingWriter;
+import org.courtbook.desktop.index.BookingIntervalIndex;
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.models.User;
+import org.courtbook.desktop.services.ApiService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless entry point for nightly and bulk operations, run as
+ * {@code java -jar desktop.jar batch <command> [options]}. Never touches AWT.
+ * <p>
+ * Commands: list, confirm, cancel, cancel-stale, export.
+ * Options: --filter EXPR (see {@link BookingFilter}), --parallelism N,
+ * --journal FILE, --out FILE (export), --dry-run, --force, --api URL.
+ * Credentials come from COURTBOOK_EMAIL and COURTBOOK_PASSWORD.
+ * <p>
+ * Status changes only apply to bookings not already in the target state,
+ * and finished ids are appended to the journal under the command and target
+ * status, so a rerun of the same command after a crash picks up where the
+ * last run stopped, while other commands sharing the journal are unaffected.
+ * <p>
+ * Like the admin panel, confirm never double-books a court: a booking that
+ * overlaps one already confirmed on its court, or one confirmed earlier in
+ * the same run (oldest request first), is skipped and reported, and the run
+ * exits non-zero. --force confirms them anyway.
+ */
+public class BatchCommand {
+    private static final String USAGE = String.join("\n",
+            "Usage: batch <list|confirm|cancel|cancel-stale|export> [options]",
+            "  --filter EXPR      e.g. \"status=PENDING and court=3 and start<now-1d\"",
+            "  --parallelism N    concurrent API calls for confirm/cancel (default 4)",
+            "  --journal FILE     record finished booking ids, skip them when the command is rerun",
+            "  --out FILE         export target (.csv, a .cbc copy is written alongside)",
+            "  --dry-run          show what would change without calling the API",
+            "  --force            confirm bookings even if they overlap a confirmed booking",
+            "  --api URL          API base URL",
+            "Credentials are read from COURTBOOK_EMAIL and COURTBOOK_PASSWORD.");
+
+    private final Map<String, String> options = new HashMap<>();
+    private final Set<String> flags = new HashSet<>();
+    private String command;
+
+    public static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        BatchCommand batch = new BatchCommand();
+        try {
+            batch.parseArgs(args);
+            return batch.execute();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (ApiService.ApiException e) {
+            System.err.println("API error (" + e.getStatusCode() + "): " + e.getMessage());
+            return 1;
+        } catch (Exception e) {
+            System.err.println("Batch failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void parseArgs(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Missing command");
+        }
+        command = args[0];
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--dry-run") || arg.equals("--force")) {
+                flags.add(arg);
+            } else if (arg.startsWith("--") && i + 1 < args.length) {
+                options.put(arg, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+        }
+    }
+
+    private int execute() throws Exception {
+        String filterExpression = options.get("--filter");
+        if (command.equals("cancel-stale")) {
+            // PENDING bookings whose start has already passed
+            filterExpression = "status=PENDING and start<now" + (filterExpression != null ? " and " + filterExpression : "");
+        }
+        BookingFilter filter = BookingFilter.parse(filterExpression);
+
+        ApiService apiService = options.containsKey("--api") ? new ApiService(options.get("--api")) : new ApiService();
+        login(apiService);
+
+        switch (command) {
+            case "list":
+                return list(apiService, filter);
+            case "confirm":
+                return updateStatus(apiService, filter, BookingStatus.CONFIRMED);
+            case "cancel":
+            case "cancel-stale":
+                return updateStatus(apiService, filter, BookingStatus.CANCELLED);
+            case "export":
+                return export(apiService, filter);
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    private void login(ApiService apiService) throws IOException, ApiService.ApiException {
+        String email = System.getenv("COURTBOOK_EMAIL");
+        String password = System.getenv("COURTBOOK_PASSWORD");
+        if (email == null || password == null) {
+            throw new IllegalArgumentException("COURTBOOK_EMAIL and COURTBOOK_PASSWORD must be set");
+        }
+        User user = apiService.login(email, password);
+        if (!user.isAdmin()) {
+            throw new ApiService.ApiException("Access denied. Admin privileges required.", 403);
+        }
+    }
+
+    private int list(ApiService apiService, BookingFilter filter) throws IOException, ApiService.ApiException {
+        long start = System.nanoTime();
+        long[] matched = {0};
+        apiService.streamBookings(filter.serverCourtId(), filter.serverStatus(), booking -> {
+            if (filter.matches(booking)) {
+                matched[0]++;
+                System.out.println(booking);
+            }
+        });
+        System.out.printf("%d bookings matched in %.1f s%n", matched[0], (System.nanoTime() - start) / 1e9);
+        return 0;
+    }
+
+    private int export(ApiService apiService, BookingFilter filter) throws IOException, ApiService.ApiException {
+        String out = options.get("--out");
+        if (out == null) {
+            throw new IllegalArgumentException("export needs --out FILE");
+        }
+        if (!out.toLowerCase().endsWith(".csv")) {
+            out += ".csv";
+        }
+        Path csvPath = Path.of(out);
+        Path columnarPath = Path.of(out.substring(0, out.length() - 4) + ".cbc");
+
+        long start = System.nanoTime();
+        long[] written = {0};
+        try (BookingWriter csv = new CsvBookingWriter(csvPath);
+             BookingWriter columnar = new ColumnarBookingWriter(columnarPath)) {
+            apiService.streamBookings(filter.serverCourtId(), filter.serverStatus(), booking -> {
+                if (filter.matches(booking)) {
+                    csv.write(booking);
+                    columnar.write(booking);
+                    written[0]++;
+                }
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Exported %d bookings to %s and %s in %.1f s (%.0f rows/s)%n",
+                written[0], csvPath, columnarPath, seconds, written[0] / Math.max(seconds, 1e-9));
+        return 0;
+    }
+
+    private int updateStatus(ApiService apiService, BookingFilter filter, BookingStatus newStatus) throws Exception {
+        int parallelism = Integer.parseInt(options.getOrDefault("--parallelism", "4"));
+        Path journal = options.containsKey("--journal") ? Path.of(options.get("--journal")) : null;
+        String journalKey = command + " " + newStatus;
+        Set<Integer> done = readJournal(journal, journalKey);
+
+        // Only bookings that still need the change, so reruns are no-ops
+        List<Booking> candidates = new ArrayList<>();
+        int skipped = 0;
+        for (Booking booking : apiService.getAllBookings(filter.serverCourtId(), filter.serverStatus())) {
+            if (filter.matches(booking) && booking.status() != newStatus
+                    && !booking.isCancelled() && booking.status() != BookingStatus.COMPLETED) {
+                if (done.contains(booking.id())) {
+                    skipped++;
+                } else {
+                    candidates.add(booking);
+                }
+            }
+        }
+        List<Booking> targets = newStatus == BookingStatus.CONFIRMED && !flags.contains("--force")
+                ? withoutConflicts(apiService, filter, candidates) : candidates;
+        int conflicts = candidates.size() - targets.size();
+        System.out.printf("%d bookings to set %s (%d skipped from journal, %d overlapping a confirmed booking)%n",
+                targets.size(), newStatus, skipped, conflicts);
+        if (flags.contains("--dry-run")) {
+            targets.forEach(System.out::println);
+            return 0;
+        }
+
+        long[] latencies = new long[targets.size()];
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try (BufferedWriter journalWriter = journal != null
+                ? Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : null) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < targets.size(); i++) {
+                int index = i;
+                Booking booking = targets.get(i);
+                futures.add(executor.submit(() -> {
+                    long callStart = System.nanoTime();
+                    try {
+                        apiService.updateBookingStatus(booking.id(), newStatus);
+                        latencies[index] = System.nanoTime() - callStart;
+                        if (journalWriter != null) {
+                            synchronized (journalWriter) {
+                                journalWriter.write(journalKey + " " + booking.id() + "\n");
+                                journalWriter.flush();
+                            }
+                        }
+                        int count = completed.incrementAndGet();
+                        if (count % 100 == 0) {
+                            System.out.printf("  %d/%d done%n", count, targets.size());
+                        }
+                    } catch (Exception e) {
+                        latencies[index] = -1;
+                        failures.incrementAndGet();
+                        System.err.println("Booking #" + booking.id() + ": " + e.getMessage());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        printSummary(latencies, (System.nanoTime() - start) / 1e9, failures.get());
+        return failures.get() == 0 && conflicts == 0 ? 0 : 1;
+    }
+
+    // Drops and reports the targets that would double-book their court, checking against the
+    // confirmed bookings and against the targets accepted before them, oldest request first
+    private static List<Booking> withoutConflicts(ApiService apiService, BookingFilter filter, List<Booking> targets)
+            throws IOException, ApiService.ApiException {
+        BookingIntervalIndex confirmed = new BookingIntervalIndex();
+        confirmed.build(apiService.getAllBookings(filter.serverCourtId(), BookingStatus.CONFIRMED.name()));
+
+        List<Booking> ordered = new ArrayList<>(targets);
+        ordered.sort(Comparator.comparingLong(Booking::createdMillis).thenComparingInt(Booking::id));
+        // Court -> accepted targets by start; they never overlap each other
+        Map<Integer, TreeMap<Long, Booking>> accepted = new HashMap<>();
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : ordered) {
+            List<Integer> overlapping = new ArrayList<>(confirmed.conflictsFor(booking));
+            TreeMap<Long, Booking> court = accepted.computeIfAbsent(booking.courtId(), k -> new TreeMap<>());
+            boolean validTimes = booking.startMillis() != Booking.INVALID_TIME
+                    && booking.endMillis() != Booking.INVALID_TIME;
+            if (validTimes) {
+                // Only the last accepted booking starting before this one ends can reach into it
+                Map.Entry<Long, Booking> previous = court.lowerEntry(booking.endMillis());
+                if (previous != null && previous.getValue().endMillis() > booking.startMillis()) {
+                    overlapping.add(previous.getValue().id());
+                }
+            }
+            if (!overlapping.isEmpty()) {
+                System.err.println("Booking #" + booking.id() + " overlaps confirmed booking(s) " + overlapping
+                        + ", skipped");
+            } else {
+                if (validTimes) {
+                    court.put(booking.startMillis(), booking);
+                }
+                result.add(booking);
+            }
+        }
+        return result;
+    }
+
+    // Ids journaled under the key, a line is "<command> <status> <id>"
+    private static Set<Integer> readJournal(Path journal, String key) throws IOException {
+        Set<Integer> done = new HashSet<>();
+        if (journal != null && Files.exists(journal)) {
+            String prefix = key + " ";
+            for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                if (line.startsWith(prefix)) {
+                    done.add(Integer.parseInt(line.substring(prefix.length()).trim()));
+                }
+            }
+        }
+        return done;
+    }
+
+    private static void printSummary(long[] latencies, double seconds, int failures) {
+        long[] succeeded = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+        System.out.printf("%d succeeded, %d failed in %.1f s (%.1f ops/s)%n",
+                succeeded.length, failures, seconds, succeeded.length / Math.max(seconds, 1e-9));
+        if (succeeded.length > 0) {
+            System.out.printf("Latency ms: p50 %.1f, p95 %.1f, p99 %.1f, max %.1f%n",
+                    percentile(succeeded, 0.50), percentile(succeeded, 0.95),
+                    percentile(succeeded, 0.99), succeeded[succeeded.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
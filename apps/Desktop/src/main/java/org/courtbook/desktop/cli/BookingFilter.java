@@ -0,0 +1,177 @@
+package org.courtbook.desktop.cli;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Filter expressions for batch mode: clauses joined with "and", e.g.
+ * {@code status=PENDING and court=3 and start<now-1d and user~alice}.
+ * <p>
+ * Fields: id, status, court (id or name), user (name or email), start, end,
+ * created. Operators: = != < <= > >= and ~ (case-insensitive contains).
+ * Times are yyyy-MM-dd, yyyy-MM-ddTHH:mm, or now with an optional
+ * +/- offset in m, h or d (now-2d). Dates are read as UTC, like the API's
+ * booking times.
+ */
+public class BookingFilter {
+    private static final Pattern CLAUSE = Pattern.compile("\\s*(\\w+)\\s*(<=|>=|!=|=|<|>|~)\\s*(.+?)\\s*");
+    private static final Pattern RELATIVE = Pattern.compile("now(?:([+-])(\\d+)([mhd]))?");
+
+    private final List<Clause> clauses;
+
+    private record Clause(String field, String op, String value, long time) {}
+
+    private BookingFilter(List<Clause> clauses) {
+        this.clauses = clauses;
+    }
+
+    public static BookingFilter parse(String expression) {
+        List<Clause> clauses = new ArrayList<>();
+        if (expression != null && !expression.isBlank()) {
+            for (String part : expression.split("(?i)\\s+and\\s+")) {
+                Matcher matcher = CLAUSE.matcher(part);
+                if (!matcher.matches()) {
+                    throw new IllegalArgumentException("Invalid filter clause: " + part);
+                }
+                String field = matcher.group(1).toLowerCase(Locale.ROOT);
+                String op = matcher.group(2);
+                String value = matcher.group(3);
+                long time = 0;
+                switch (field) {
+                    case "start", "end", "created" -> time = parseTime(value);
+                    case "id", "status", "court", "user" -> { }
+                    default -> throw new IllegalArgumentException("Unknown filter field: " + field);
+                }
+                clauses.add(new Clause(field, op, value, time));
+            }
+        }
+        return new BookingFilter(clauses);
+    }
+
+    public boolean matches(Booking booking) {
+        for (Clause clause : clauses) {
+            if (!matches(clause, booking)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Court id to pass to the API when the filter pins a single court by id.
+     */
+    public Integer serverCourtId() {
+        for (Clause clause : clauses) {
+            if (clause.field().equals("court") && clause.op().equals("=") && clause.value().matches("\\d+")) {
+                return Integer.valueOf(clause.value());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Status to pass to the API when the filter pins a single status.
+     */
+    public String serverStatus() {
+        for (Clause clause : clauses) {
+            if (clause.field().equals("status") && clause.op().equals("=")) {
+                return clause.value().toUpperCase(Locale.ROOT);
+            }
+        }
+        return "ALL";
+    }
+
+    private static boolean matches(Clause clause, Booking booking) {
+        switch (clause.field()) {
+            case "id":
+                return compare(Integer.compare(booking.id(), Integer.parseInt(clause.value())), clause.op());
+            case "status":
+                return compareText(Objects.toString(booking.status(), null), clause);
+            case "court":
+                if (clause.value().matches("\\d+")) {
+                    return compare(Integer.compare(booking.courtId(), Integer.parseInt(clause.value())), clause.op());
+                }
+                return compareText(booking.court() != null ? booking.court().name() : null, clause);
+            case "user":
+                if (booking.user() == null) {
+                    return clause.op().equals("!=");
+                }
+                if (clause.op().equals("~")) {
+                    return compareText(booking.user().name(), clause) || compareText(booking.user().email(), clause);
+                }
+                return compareText(booking.user().email(), clause);
+            case "start":
+                return compareTime(booking.startMillis(), clause);
+            case "end":
+                return compareTime(booking.endMillis(), clause);
+            case "created":
+                return compareTime(booking.createdMillis(), clause);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean compareText(String actual, Clause clause) {
+        if (actual == null) {
+            return clause.op().equals("!=");
+        }
+        if (clause.op().equals("~")) {
+            return actual.toLowerCase(Locale.ROOT).contains(clause.value().toLowerCase(Locale.ROOT));
+        }
+        return compare(actual.compareToIgnoreCase(clause.value()), clause.op());
+    }
+
+    private static boolean compareTime(long actual, Clause clause) {
+        if (actual == Booking.INVALID_TIME) {
+            return false;
+        }
+        return compare(Long.compare(actual, clause.time()), clause.op());
+    }
+
+    private static boolean compare(int comparison, String op) {
+        switch (op) {
+            case "=": return comparison == 0;
+            case "!=": return comparison != 0;
+            case "<": return comparison < 0;
+            case "<=": return comparison <= 0;
+            case ">": return comparison > 0;
+            case ">=": return comparison >= 0;
+            default: throw new IllegalArgumentException("Operator " + op + " is only valid for text fields");
+        }
+    }
+
+    private static long parseTime(String value) {
+        Matcher relative = RELATIVE.matcher(value.toLowerCase(Locale.ROOT));
+        if (relative.matches()) {
+            long now = System.currentTimeMillis();
+            if (relative.group(1) == null) {
+                return now;
+            }
+            long amount = Long.parseLong(relative.group(2));
+            long unit = switch (relative.group(3)) {
+                case "m" -> 60_000L;
+                case "h" -> 3_600_000L;
+                default -> 86_400_000L;
+            };
+            return relative.group(1).equals("+") ? now + amount * unit : now - amount * unit;
+        }
+        try {
+            if (value.length() <= 10) {
+                return LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time in filter: " + value);
+        }
+    }
+}
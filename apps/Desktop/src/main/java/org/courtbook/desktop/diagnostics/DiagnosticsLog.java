@@ -0,0 +1,71 @@
+package org.courtbook.desktop.diagnostics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Size-capped local log of UI diagnostics. The current file is ui.log; once it
+ * passes {@link #MAX_BYTES} it is shifted to ui.1.log and so on, keeping
+ * {@link #KEEP_FILES} old files.
+ */
+public class DiagnosticsLog {
+    private static final long MAX_BYTES = 1024 * 1024;
+    private static final int KEEP_FILES = 5;
+
+    private final Path directory;
+    private final Path file;
+    private boolean failed;
+
+    public DiagnosticsLog(Path directory) throws IOException {
+        this.directory = directory;
+        this.file = directory.resolve("ui.log");
+        Files.createDirectories(directory);
+    }
+
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("user.home"), ".courtbook", "diagnostics");
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Appends a timestamped entry. Write errors are reported once and further
+     * entries dropped, diagnostics must never take the UI down.
+     */
+    public synchronized void write(String entry) {
+        if (failed) {
+            return;
+        }
+        try {
+            if (Files.exists(file) && Files.size(file) > MAX_BYTES) {
+                rotate();
+            }
+            Files.writeString(file, Instant.now() + " " + entry + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            failed = true;
+            System.out.println("Diagnostics log unavailable: " + e.getMessage());
+        }
+    }
+
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(KEEP_FILES));
+        for (int i = KEEP_FILES - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotated(int index) {
+        return directory.resolve("ui." + index + ".log");
+    }
+}
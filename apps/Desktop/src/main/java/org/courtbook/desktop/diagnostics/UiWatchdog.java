@@ -0,0 +1,301 @@
+package org.courtbook.desktop.diagnostics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the Swing event dispatch thread.
+ * A pushed EventQueue times every event dispatch and a RepaintManager times
+ * every paint pass. A probe posted to the queue every {@link #PROBE_MILLIS}
+ * measures how long events wait before they run. While one dispatch runs
+ * longer than the stall threshold, the EDT's stack is sampled every
+ * {@link #SAMPLE_MILLIS}; the stall and its distinct stacks are kept for the
+ * diagnostics dialog and written to the {@link DiagnosticsLog}, along with a
+ * percentile summary every minute.
+ * A modal dialog runs a nested event loop inside the dispatch that opened it.
+ * The nested dispatches, and the time the nested loop waits for input, are
+ * not counted against the outer dispatch; the work it does before the dialog
+ * opens and after it closes is.
+ */
+public class UiWatchdog {
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final long SAMPLE_MILLIS = 50;
+    private static final long PROBE_MILLIS = 100;
+    private static final long SUMMARY_SECONDS = 60;
+    private static final int MAX_STALLS = 50;
+    private static final int STACK_DEPTH = 25;
+    private static final int MAX_EVENT_TEXT = 200;
+
+    private static UiWatchdog installed;
+
+    /** A distinct EDT stack seen during a stall, and how many samples hit it. */
+    public record StackSample(String stack, int count) {}
+
+    public record Stall(long startMillis, long durationMillis, String event, List<StackSample> samples) {}
+
+    public record Percentiles(String name, long count, double p50Millis, double p90Millis,
+                              double p99Millis, double maxMillis) {}
+
+    private final long stallNanos;
+    private final DiagnosticsLog log;
+    private final Metric dispatch = new Metric("Event dispatch");
+    private final Metric queueWait = new Metric("Event queue wait");
+    private final Metric paint = new Metric("Paint");
+    private final ArrayDeque<Stall> stalls = new ArrayDeque<>();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ui-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Written on the EDT, read by the sampler
+    private volatile Thread edt;
+    private volatile long dispatchSeq;
+    // Start of the innermost dispatch, moved later by the time excluded from
+    // it; 0 while no dispatch is running its own code
+    private volatile long dispatchStart;
+    private volatile boolean probePending;
+
+    // Innermost dispatch, EDT only
+    private long nextSeq;
+    private int depth;
+    private long currentStart;
+    private long excludedNanos; // nested dispatches and nested-loop waits
+
+    // Stack samples of the dispatch currently over the threshold, guarded by this
+    private long sampledSeq = -1;
+    private final Map<String, Integer> sampledStacks = new LinkedHashMap<>();
+
+    private static class Metric {
+        final String name;
+        final Recorder recorder = new Recorder(MAX_MICROS, 3);
+        final Histogram total = new Histogram(MAX_MICROS, 3);
+        final Histogram sinceSummary = new Histogram(MAX_MICROS, 3);
+        Histogram interval;
+
+        Metric(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            recorder.recordValue(Math.min(nanos / 1000, MAX_MICROS));
+        }
+
+        // Moves recorded values into the running totals, callers hold the watchdog lock
+        void drain() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            sinceSummary.add(interval);
+        }
+
+        Percentiles percentiles(Histogram histogram) {
+            return new Percentiles(name, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0, histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    private UiWatchdog(long stallMillis, DiagnosticsLog log) {
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        this.log = log;
+    }
+
+    /**
+     * Starts watching the EDT, once per process. Call before any UI is shown.
+     */
+    public static synchronized UiWatchdog install(long stallMillis, DiagnosticsLog log) {
+        if (installed == null) {
+            UiWatchdog watchdog = new UiWatchdog(stallMillis, log);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog.new TimingEventQueue());
+            RepaintManager.setCurrentManager(watchdog.new TimingRepaintManager());
+            watchdog.sampler.scheduleAtFixedRate(watchdog::sample, SAMPLE_MILLIS, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+            watchdog.sampler.scheduleAtFixedRate(watchdog::probe, PROBE_MILLIS, PROBE_MILLIS, TimeUnit.MILLISECONDS);
+            watchdog.sampler.scheduleAtFixedRate(watchdog::writeSummary, SUMMARY_SECONDS, SUMMARY_SECONDS, TimeUnit.SECONDS);
+            log.write("Watchdog started, stall threshold " + stallMillis + " ms");
+            installed = watchdog;
+        }
+        return installed;
+    }
+
+    /**
+     * The installed watchdog, or null when the UI runs without one.
+     */
+    public static synchronized UiWatchdog get() {
+        return installed;
+    }
+
+    public long stallThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallNanos);
+    }
+
+    public DiagnosticsLog log() {
+        return log;
+    }
+
+    /**
+     * Percentiles of everything recorded since the watchdog started.
+     */
+    public synchronized List<Percentiles> percentiles() {
+        List<Percentiles> result = new ArrayList<>();
+        for (Metric metric : List.of(dispatch, queueWait, paint)) {
+            metric.drain();
+            result.add(metric.percentiles(metric.total));
+        }
+        return result;
+    }
+
+    /**
+     * Recent stalls, newest first.
+     */
+    public synchronized List<Stall> stalls() {
+        return new ArrayList<>(stalls);
+    }
+
+    private class TimingEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            edt = Thread.currentThread();
+            long outerSeq = dispatchSeq;
+            long outerStart = currentStart;
+            long outerExcluded = excludedNanos;
+            long seq = ++nextSeq;
+            long start = System.nanoTime();
+            dispatchSeq = seq;
+            currentStart = start;
+            excludedNanos = 0;
+            dispatchStart = start;
+            depth++;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                long own = end - start - excludedNanos;
+                depth--;
+                dispatch.record(own);
+                if (own >= stallNanos) {
+                    stallEnded(seq, own, event);
+                }
+                // Back in the outer dispatch, if any, which this one did not block
+                dispatchSeq = outerSeq;
+                currentStart = outerStart;
+                excludedNanos = outerExcluded + (end - start);
+                dispatchStart = depth > 0 ? outerStart + excludedNanos : 0;
+            }
+        }
+
+        // Waits of a nested loop for input are not part of the dispatch it runs in
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            if (depth == 0 || Thread.currentThread() != edt) {
+                return super.getNextEvent();
+            }
+            long waitStart = System.nanoTime();
+            dispatchStart = 0;
+            try {
+                return super.getNextEvent();
+            } finally {
+                excludedNanos += System.nanoTime() - waitStart;
+                dispatchStart = currentStart + excludedNanos;
+            }
+        }
+    }
+
+    private class TimingRepaintManager extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            paint.record(System.nanoTime() - start);
+        }
+    }
+
+    // Sampler thread: take an EDT stack while the current dispatch is over the threshold
+    private void sample() {
+        long start = dispatchStart;
+        long seq = dispatchSeq;
+        Thread thread = edt;
+        if (start == 0 || thread == null || System.nanoTime() - start < stallNanos) {
+            return;
+        }
+        StackTraceElement[] frames = thread.getStackTrace();
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(frames.length, STACK_DEPTH); i++) {
+            stack.append("    at ").append(frames[i]).append('\n');
+        }
+        synchronized (this) {
+            if (seq != sampledSeq) {
+                sampledSeq = seq;
+                sampledStacks.clear();
+            }
+            sampledStacks.merge(stack.toString(), 1, Integer::sum);
+        }
+    }
+
+    // Sampler thread: time how long a no-op event waits in the queue
+    private void probe() {
+        if (probePending) {
+            return;
+        }
+        probePending = true;
+        long posted = System.nanoTime();
+        EventQueue.invokeLater(() -> {
+            queueWait.record(System.nanoTime() - posted);
+            probePending = false;
+        });
+    }
+
+    private void stallEnded(long seq, long durationNanos, AWTEvent event) {
+        String description = event.getClass().getSimpleName() + "[" + event.paramString() + "]";
+        if (description.length() > MAX_EVENT_TEXT) {
+            description = description.substring(0, MAX_EVENT_TEXT) + "...";
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        Stall stall;
+        synchronized (this) {
+            List<StackSample> samples = new ArrayList<>();
+            if (seq == sampledSeq) {
+                sampledStacks.forEach((stack, count) -> samples.add(new StackSample(stack, count)));
+                sampledStacks.clear();
+            }
+            samples.sort((a, b) -> Integer.compare(b.count(), a.count()));
+            stall = new Stall(System.currentTimeMillis() - durationMillis, durationMillis, description, samples);
+            stalls.addFirst(stall);
+            if (stalls.size() > MAX_STALLS) {
+                stalls.removeLast();
+            }
+        }
+
+        StringBuilder entry = new StringBuilder("STALL ").append(durationMillis).append(" ms in ").append(description);
+        for (StackSample sample : stall.samples()) {
+            entry.append('\n').append("  ").append(sample.count()).append(" samples:\n").append(sample.stack());
+        }
+        // Called on the EDT, leave the file write to the sampler thread
+        String text = entry.toString().stripTrailing();
+        sampler.execute(() -> log.write(text));
+    }
+
+    private void writeSummary() {
+        StringBuilder entry = new StringBuilder("SUMMARY");
+        synchronized (this) {
+            for (Metric metric : List.of(dispatch, queueWait, paint)) {
+                metric.drain();
+                Percentiles p = metric.percentiles(metric.sinceSummary);
+                entry.append(String.format(" | %s n=%d p50=%.2f p90=%.2f p99=%.2f max=%.2f ms",
+                        p.name(), p.count(), p.p50Millis(), p.p90Millis(), p.p99Millis(), p.maxMillis()));
+                metric.sinceSummary.reset();
+            }
+        }
+        log.write(entry.toString());
+    }
+}
@@ -0,0 +1,13 @@
+package org.courtbook.desktop.export;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sink for exported bookings. Rows are written one at a time; close flushes.
+ */
+public interface BookingWriter extends Closeable {
+    void write(Booking booking) throws IOException;
+}
@@ -0,0 +1,16 @@
+package org.courtbook.desktop.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+final class ChannelWrites {
+    private ChannelWrites() {}
+
+    // A channel write may be partial, loop until the buffer is drained
+    static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.courtbook.desktop.export;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.models.Court;
+import org.courtbook.desktop.models.User;
+import org.courtbook.desktop.services.ApiService.BookingHandler;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written by {@link ColumnarBookingWriter}, one row group at a time.
+ */
+public class ColumnarBookingReader {
+    private ColumnarBookingReader() {}
+
+    /**
+     * Streams every booking in the file to the handler and returns the row count.
+     */
+    public static long read(Path path, BookingHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = readFully(channel, ColumnarBookingWriter.MAGIC.length + 1);
+            byte[] expected = ColumnarBookingWriter.MAGIC;
+            for (byte b : expected) {
+                if (magic.get() != b) {
+                    throw new IOException("Not a columnar booking export: " + path);
+                }
+            }
+            if (magic.get() != ColumnarBookingWriter.VERSION) {
+                throw new IOException("Unsupported columnar export version in " + path);
+            }
+
+            Inflater inflater = new Inflater();
+            try {
+                long total = 0;
+                while (true) {
+                    int rows = readFully(channel, 4).getInt();
+                    if (rows == 0) {
+                        return total;
+                    }
+                    ByteBuffer lengths = readFully(channel, 8);
+                    int rawLength = lengths.getInt();
+                    int compressedLength = lengths.getInt();
+                    ByteBuffer compressed = readFully(channel, compressedLength);
+
+                    byte[] raw = new byte[rawLength];
+                    inflater.reset();
+                    inflater.setInput(compressed.array(), 0, compressedLength);
+                    try {
+                        inflater.inflate(raw);
+                    } catch (DataFormatException e) {
+                        throw new IOException("Corrupt row group in " + path, e);
+                    }
+                    decodeGroup(ByteBuffer.wrap(raw), rows, handler);
+                    total += rows;
+                }
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void decodeGroup(ByteBuffer in, int rows, BookingHandler handler) throws IOException {
+        int[] ids = ints(in, rows);
+        int[] userIds = ints(in, rows);
+        int[] courtIds = ints(in, rows);
+        long[] starts = longs(in, rows);
+        long[] ends = longs(in, rows);
+        long[] created = longs(in, rows);
+        String[] statuses = strings(in, rows);
+        String[] userNames = strings(in, rows);
+        String[] userEmails = strings(in, rows);
+        String[] courtNames = strings(in, rows);
+
+        for (int i = 0; i < rows; i++) {
+            handler.handle(new Booking(ids[i], userIds[i], courtIds[i], starts[i], ends[i], created[i],
+                    BookingStatus.fromName(statuses[i]),
+                    userNames[i] != null || userEmails[i] != null ? new User(userIds[i], userNames[i], userEmails[i], null) : null,
+                    courtNames[i] != null ? new Court(courtIds[i], courtNames[i], null, null) : null));
+        }
+    }
+
+    private static int[] ints(ByteBuffer in, int rows) {
+        int[] values = new int[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(varint(in));
+            values[i] = (int) previous;
+        }
+        return values;
+    }
+
+    private static long[] longs(ByteBuffer in, int rows) {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(varint(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static String[] strings(ByteBuffer in, int rows) {
+        String[] dictionary = new String[(int) varint(in) + 1];
+        for (int i = 1; i < dictionary.length; i++) {
+            int length = (int) varint(in);
+            dictionary[i] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        }
+        String[] values = new String[rows];
+        Arrays.setAll(values, i -> dictionary[(int) varint(in)]);
+        return values;
+    }
+
+    private static long varint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of columnar export");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,191 @@
+package org.courtbook.desktop.export;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * Writes bookings in a compact, compressed columnar file (".cbc").
+ * Rows are buffered into fixed-size row groups; each group is laid out column
+ * by column and deflated on its own, so memory stays bounded by one group.
+ *
+ * Layout: magic "CBCOL", version byte, then row groups of
+ * [int rows][int rawLength][int compressedLength][deflated bytes],
+ * and a trailer of [int 0][long totalRows]. Inside a group, id, userId and
+ * courtId are zigzag varint deltas, start/end/created epoch millis likewise,
+ * and status, user name, user email and court name are dictionary encoded
+ * (index 0 means null). See {@link ColumnarBookingReader}.
+ */
+public class ColumnarBookingWriter implements BookingWriter {
+    static final byte[] MAGIC = "CBCOL".getBytes(StandardCharsets.US_ASCII);
+    static final byte VERSION = 1;
+    static final int ROW_GROUP_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final ByteBuffer header = ByteBuffer.allocate(12);
+    private final ColumnEncoder encoder = new ColumnEncoder();
+    private byte[] compressed = new byte[64 * 1024];
+
+    private final int[] ids = new int[ROW_GROUP_SIZE];
+    private final int[] userIds = new int[ROW_GROUP_SIZE];
+    private final int[] courtIds = new int[ROW_GROUP_SIZE];
+    private final long[] starts = new long[ROW_GROUP_SIZE];
+    private final long[] ends = new long[ROW_GROUP_SIZE];
+    private final long[] created = new long[ROW_GROUP_SIZE];
+    private final String[] statuses = new String[ROW_GROUP_SIZE];
+    private final String[] userNames = new String[ROW_GROUP_SIZE];
+    private final String[] userEmails = new String[ROW_GROUP_SIZE];
+    private final String[] courtNames = new String[ROW_GROUP_SIZE];
+    private int rows;
+    private long totalRows;
+
+    public ColumnarBookingWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer magic = ByteBuffer.allocate(MAGIC.length + 1);
+        magic.put(MAGIC).put(VERSION).flip();
+        ChannelWrites.writeFully(channel, magic);
+    }
+
+    @Override
+    public void write(Booking booking) throws IOException {
+        ids[rows] = booking.id();
+        userIds[rows] = booking.userId();
+        courtIds[rows] = booking.courtId();
+        starts[rows] = booking.startMillis();
+        ends[rows] = booking.endMillis();
+        created[rows] = booking.createdMillis();
+        statuses[rows] = Objects.toString(booking.status(), null);
+        userNames[rows] = booking.user() != null ? booking.user().name() : null;
+        userEmails[rows] = booking.user() != null ? booking.user().email() : null;
+        courtNames[rows] = booking.court() != null ? booking.court().name() : null;
+        if (++rows == ROW_GROUP_SIZE) {
+            flushGroup();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                flushGroup();
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(12);
+            trailer.putInt(0).putLong(totalRows).flip();
+            ChannelWrites.writeFully(channel, trailer);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        encoder.reset();
+        encoder.ints(ids, rows);
+        encoder.ints(userIds, rows);
+        encoder.ints(courtIds, rows);
+        encoder.longs(starts, rows);
+        encoder.longs(ends, rows);
+        encoder.longs(created, rows);
+        encoder.strings(statuses, rows);
+        encoder.strings(userNames, rows);
+        encoder.strings(userEmails, rows);
+        encoder.strings(courtNames, rows);
+
+        byte[] raw = encoder.buffer();
+        int rawLength = encoder.size();
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                byte[] larger = new byte[compressed.length * 2];
+                System.arraycopy(compressed, 0, larger, 0, compressedLength);
+                compressed = larger;
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        header.clear();
+        header.putInt(rows).putInt(rawLength).putInt(compressedLength).flip();
+        ChannelWrites.writeFully(channel, header);
+        ChannelWrites.writeFully(channel, ByteBuffer.wrap(compressed, 0, compressedLength));
+
+        totalRows += rows;
+        rows = 0;
+    }
+
+    // Reusable growable byte buffer with varint and dictionary helpers
+    private static class ColumnEncoder extends ByteArrayOutputStream {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        ColumnEncoder() {
+            super(64 * 1024);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void ints(int[] values, int count) {
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                varint(zigzag((long) values[i] - previous));
+                previous = values[i];
+            }
+        }
+
+        void longs(long[] values, int count) {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                varint(zigzag(values[i] - previous));
+                previous = values[i];
+            }
+        }
+
+        void strings(String[] values, int count) {
+            dictionary.clear();
+            int[] indexes = new int[count];
+            for (int i = 0; i < count; i++) {
+                indexes[i] = values[i] == null ? 0
+                        : dictionary.computeIfAbsent(values[i], k -> dictionary.size() + 1);
+            }
+            String[] entries = new String[dictionary.size()];
+            dictionary.forEach((value, index) -> entries[index - 1] = value);
+
+            varint(entries.length);
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                varint(bytes.length);
+                write(bytes, 0, bytes.length);
+            }
+            for (int i = 0; i < count; i++) {
+                varint(indexes[i]);
+            }
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.courtbook.desktop.export;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes bookings as UTF-8 CSV through a buffered file channel, one row at a
+ * time, so memory use does not depend on the number of rows.
+ */
+public class CsvBookingWriter implements BookingWriter {
+    private static final String HEADER =
+            "id,user_id,user_name,user_email,court_id,court_name,start_time,end_time,status,created_at\n";
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final StringBuilder row = new StringBuilder(256);
+
+    public CsvBookingWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        put(HEADER.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(Booking booking) throws IOException {
+        row.setLength(0);
+        row.append(booking.id()).append(',')
+                .append(booking.userId()).append(',');
+        appendField(booking.user() != null ? booking.user().name() : null).append(',');
+        appendField(booking.user() != null ? booking.user().email() : null).append(',');
+        row.append(booking.courtId()).append(',');
+        appendField(booking.court() != null ? booking.court().name() : null).append(',');
+        appendField(booking.startTime()).append(',');
+        appendField(booking.endTime()).append(',');
+        appendField(Objects.toString(booking.status(), null)).append(',');
+        appendField(booking.createdAt()).append('\n');
+        put(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Quotes the value if it contains a separator, quote or line break
+    private StringBuilder appendField(String value) {
+        if (value == null) {
+            return row;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            ChannelWrites.writeFully(channel, ByteBuffer.wrap(bytes));
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        ChannelWrites.writeFully(channel, buffer);
+        buffer.clear();
+    }
+}
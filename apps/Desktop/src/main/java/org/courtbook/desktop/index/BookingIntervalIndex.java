@@ -0,0 +1,139 @@
+package org.courtbook.desktop.index;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-court index of CONFIRMED booking intervals, used to spot overlaps
+ * before another booking on the same court is confirmed.
+ * Each court keeps its confirmed intervals sorted by start time. A query
+ * binary searches for the intervals starting before the query ends, then
+ * walks back over those starting within a day of the query start; bookings
+ * longer than a day, which the API never creates, are checked separately so
+ * one bad end time can't make every query scan the whole court.
+ * Only the confirmed bookings handed to {@link #build} are indexed; the
+ * bookings checked against them can come from anywhere.
+ */
+public class BookingIntervalIndex {
+    // Bookings last at most 8 hours, anything longer is an outlier
+    private static final long MAX_DURATION = 24 * 60 * 60 * 1000L;
+
+    private final Map<Integer, CourtIntervals> courts = new HashMap<>();
+
+    public synchronized void build(List<Booking> bookings) {
+        courts.clear();
+
+        Map<Integer, List<Booking>> confirmedByCourt = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.isConfirmed() && hasValidTimes(booking)) {
+                confirmedByCourt.computeIfAbsent(booking.courtId(), k -> new ArrayList<>()).add(booking);
+            }
+        }
+        confirmedByCourt.forEach((courtId, confirmed) -> courts.put(courtId, new CourtIntervals(confirmed)));
+    }
+
+    /**
+     * Returns the ids of CONFIRMED bookings on the same court that overlap the
+     * given booking, excluding the booking itself.
+     */
+    public synchronized List<Integer> conflictsFor(Booking booking) {
+        CourtIntervals intervals = courts.get(booking.courtId());
+        if (intervals == null || !hasValidTimes(booking)) {
+            return List.of();
+        }
+        return intervals.overlapping(booking.startMillis(), booking.endMillis(), booking.id());
+    }
+
+    /**
+     * Returns the ids of the given PENDING or CONFIRMED bookings that overlap
+     * a different indexed CONFIRMED booking on the same court.
+     */
+    public synchronized Set<Integer> conflictingIds(List<Booking> bookings) {
+        Set<Integer> result = new HashSet<>();
+        for (Booking booking : bookings) {
+            if (booking.isCancelled()) {
+                continue;
+            }
+            if (!conflictsFor(booking).isEmpty()) {
+                result.add(booking.id());
+            }
+        }
+        return result;
+    }
+
+    private static boolean hasValidTimes(Booking booking) {
+        return booking.startMillis() != Booking.INVALID_TIME
+                && booking.endMillis() != Booking.INVALID_TIME;
+    }
+
+    // Confirmed intervals of one court. Bookings up to MAX_DURATION long are sorted
+    // by start; longer or malformed ones are rare and kept apart, checked one by one
+    private static class CourtIntervals {
+        private final long[] starts;
+        private final long[] ends;
+        private final int[] ids;
+        private final long[] longStarts;
+        private final long[] longEnds;
+        private final int[] longIds;
+
+        CourtIntervals(List<Booking> bookings) {
+            List<Booking> regular = new ArrayList<>();
+            List<Booking> outliers = new ArrayList<>();
+            for (Booking booking : bookings) {
+                (booking.endMillis() - booking.startMillis() <= MAX_DURATION ? regular : outliers).add(booking);
+            }
+            regular.sort((a, b) -> Long.compare(a.startMillis(), b.startMillis()));
+
+            starts = new long[regular.size()];
+            ends = new long[regular.size()];
+            ids = new int[regular.size()];
+            for (int i = 0; i < regular.size(); i++) {
+                starts[i] = regular.get(i).startMillis();
+                ends[i] = regular.get(i).endMillis();
+                ids[i] = regular.get(i).id();
+            }
+            longStarts = new long[outliers.size()];
+            longEnds = new long[outliers.size()];
+            longIds = new int[outliers.size()];
+            for (int i = 0; i < outliers.size(); i++) {
+                longStarts[i] = outliers.get(i).startMillis();
+                longEnds[i] = outliers.get(i).endMillis();
+                longIds[i] = outliers.get(i).id();
+            }
+        }
+
+        List<Integer> overlapping(long start, long end, int excludeId) {
+            // Number of intervals starting strictly before the query ends
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < end) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+
+            // None of these lasts longer than MAX_DURATION, so earlier starts can't reach the query
+            List<Integer> result = new ArrayList<>();
+            for (int i = lo - 1; i >= 0 && starts[i] > start - MAX_DURATION; i--) {
+                if (ends[i] > start && ids[i] != excludeId) {
+                    result.add(ids[i]);
+                }
+            }
+            for (int i = 0; i < longIds.length; i++) {
+                if (longStarts[i] < end && longEnds[i] > start && longIds[i] != excludeId) {
+                    result.add(longIds[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
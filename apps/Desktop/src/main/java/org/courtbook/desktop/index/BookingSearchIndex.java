@@ -0,0 +1,278 @@
+package org.courtbook.desktop.index;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory n-gram index over booking user name, user email and "#id".
+ * Every 1, 2 and 3 character gram of a booking's search text points at the
+ * booking's slot. A query walks the shortest posting list among its grams and
+ * verifies each candidate with a substring match, so results are exact.
+ * Updates are incremental: a changed booking gets a fresh slot and its old
+ * slot is marked dead until the next compaction.
+ */
+public class BookingSearchIndex {
+    private static final int MAX_GRAM = 3;
+
+    // Grams are packed into a long, 16 bits per char, to avoid substring garbage
+    private final GramTable postings = new GramTable();
+    private final Map<Integer, Integer> slotByBookingId = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private String[] texts = new String[1024];
+    private int[] bookingIds = new int[1024];
+    private int slotCount;
+    private int liveCount;
+
+    /**
+     * Brings the index in line with the given bookings: new bookings are
+     * added, changed ones re-indexed and missing ones removed.
+     */
+    public synchronized void sync(List<Booking> bookings) {
+        Set<Integer> seen = new HashSet<>();
+        for (Booking booking : bookings) {
+            seen.add(booking.id());
+            put(booking);
+        }
+        for (Integer bookingId : new ArrayList<>(slotByBookingId.keySet())) {
+            if (!seen.contains(bookingId)) {
+                remove(bookingId);
+            }
+        }
+        if (slotCount > 1024 && liveCount < slotCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Adds or re-indexes a single booking. Does nothing if its search text
+     * has not changed.
+     */
+    public synchronized void put(Booking booking) {
+        String text = searchText(booking);
+        Integer existing = slotByBookingId.get(booking.id());
+        if (existing != null) {
+            if (texts[existing].equals(text)) {
+                return;
+            }
+            kill(existing);
+        }
+        addSlot(booking.id(), text);
+    }
+
+    public synchronized void remove(int bookingId) {
+        Integer slot = slotByBookingId.remove(bookingId);
+        if (slot != null) {
+            kill(slot);
+        }
+    }
+
+    /**
+     * Returns the ids of bookings whose name, email or "#id" contains the
+     * query, case-insensitively. A blank query returns null, meaning "no filter".
+     */
+    public synchronized Set<Integer> search(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        String needle = query.trim().toLowerCase();
+
+        // Pick the most selective gram of the query to seed candidates
+        IntList candidates = null;
+        int gramLength = Math.min(MAX_GRAM, needle.length());
+        for (int i = 0; i + gramLength <= needle.length(); i++) {
+            IntList list = postings.get(gramKey(needle, i, gramLength));
+            if (list == null) {
+                return Set.of();
+            }
+            if (candidates == null || list.size < candidates.size) {
+                candidates = list;
+            }
+        }
+
+        Set<Integer> result = new HashSet<>();
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.values[i];
+            if (live.get(slot) && texts[slot].contains(needle)) {
+                result.add(bookingIds[slot]);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    /**
+     * Rough heap footprint of the index in bytes, for diagnostics.
+     */
+    public synchronized long estimatedBytes() {
+        long bytes = (long) texts.length * 4 + (long) bookingIds.length * 4;
+        for (int i = 0; i < slotCount; i++) {
+            if (texts[i] != null) {
+                bytes += 40 + texts[i].length();
+            }
+        }
+        bytes += (long) postings.keys.length * 12;
+        for (IntList list : postings.lists) {
+            if (list != null) {
+                bytes += 24 + (long) list.values.length * 4;
+            }
+        }
+        bytes += (long) slotByBookingId.size() * 64;
+        return bytes;
+    }
+
+    private void addSlot(int bookingId, String text) {
+        if (slotCount == texts.length) {
+            texts = Arrays.copyOf(texts, slotCount * 2);
+            bookingIds = Arrays.copyOf(bookingIds, slotCount * 2);
+        }
+        int slot = slotCount++;
+        texts[slot] = text;
+        bookingIds[slot] = bookingId;
+        live.set(slot);
+        liveCount++;
+        slotByBookingId.put(bookingId, slot);
+
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                IntList list = postings.getOrCreate(gramKey(text, i, n));
+                // Slots only ever grow, so a repeated gram is always the last entry
+                if (list.size == 0 || list.values[list.size - 1] != slot) {
+                    list.add(slot);
+                }
+            }
+        }
+    }
+
+    private static long gramKey(String text, int start, int length) {
+        long key = length;
+        for (int i = 0; i < length; i++) {
+            key = (key << 16) | text.charAt(start + i);
+        }
+        return key;
+    }
+
+    private void kill(int slot) {
+        live.clear(slot);
+        texts[slot] = "";
+        liveCount--;
+    }
+
+    // Rebuilds the postings from live slots only
+    private void compact() {
+        String[] oldTexts = texts;
+        int[] oldIds = bookingIds;
+        int oldCount = slotCount;
+
+        postings.clear();
+        slotByBookingId.clear();
+        live.clear();
+        texts = new String[Math.max(1024, liveCount * 2)];
+        bookingIds = new int[texts.length];
+        slotCount = 0;
+        liveCount = 0;
+
+        for (int i = 0; i < oldCount; i++) {
+            if (!oldTexts[i].isEmpty()) {
+                addSlot(oldIds[i], oldTexts[i]);
+            }
+        }
+    }
+
+    private static String searchText(Booking booking) {
+        StringBuilder text = new StringBuilder();
+        User user = booking.user();
+        if (user != null) {
+            if (user.name() != null) text.append(user.name()).append('\n');
+            if (user.email() != null) text.append(user.email()).append('\n');
+        }
+        text.append('#').append(booking.id());
+        return text.toString().toLowerCase();
+    }
+
+    // Open-addressing map from packed gram to posting list, no boxing
+    private static class GramTable {
+        private long[] keys = new long[1 << 12];
+        private IntList[] lists = new IntList[1 << 12];
+        private int size;
+
+        IntList get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; lists[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return lists[i];
+                }
+            }
+            return null;
+        }
+
+        IntList getOrCreate(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            for (; lists[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return lists[i];
+                }
+            }
+            IntList list = new IntList();
+            keys[i] = key;
+            lists[i] = list;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return list;
+        }
+
+        void clear() {
+            Arrays.fill(lists, null);
+            size = 0;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            IntList[] oldLists = lists;
+            keys = new long[oldKeys.length * 2];
+            lists = new IntList[oldLists.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldLists[j] != null) {
+                    int i = hash(oldKeys[j]) & mask;
+                    while (lists[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    lists[i] = oldLists[j];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    // Growable int array used for posting lists
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.courtbook.desktop.index;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Multi-column sort and grouping of a booking list, returned as a row
+ * permutation so the list itself is never reordered.
+ * Each column is first reduced to a dense int rank per booking (court and user
+ * names are ranked once per distinct court or user, not per row). Columns are
+ * then applied least significant first, each pass a parallel sort of
+ * (rank, position) pairs packed into longs; the position in the low bits keeps
+ * every pass stable. Grouping is simply the most significant pass.
+ */
+public class BookingSorter {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("EEE yyyy-MM-dd", Locale.ENGLISH);
+
+    public enum Column { START, COURT, USER, STATUS }
+
+    public enum Grouping { NONE, COURT, DAY }
+
+    public record SortKey(Column column, boolean ascending) {}
+
+    /**
+     * Row order as indexes into the sorted list. When grouped, group i covers
+     * order[groupStarts[i]] up to the next group's start.
+     */
+    public record Ordering(int[] order, int[] groupStarts, String[] groupLabels) {
+        public int groupCount() {
+            return groupStarts.length;
+        }
+
+        public int groupEnd(int group) {
+            return group + 1 < groupStarts.length ? groupStarts[group + 1] : order.length;
+        }
+
+        /**
+         * The list's own order, ungrouped.
+         */
+        public static Ordering identity(int size) {
+            int[] order = new int[size];
+            Arrays.setAll(order, i -> i);
+            return new Ordering(order, new int[0], new String[0]);
+        }
+    }
+
+    public static Ordering sort(List<Booking> bookings, Grouping grouping, List<SortKey> keys) {
+        int[] order = Ordering.identity(bookings.size()).order();
+        for (int k = keys.size() - 1; k >= 0; k--) {
+            SortKey key = keys.get(k);
+            order = stableSort(order, ranks(bookings, key.column()), key.ascending());
+        }
+        if (grouping == Grouping.NONE) {
+            return new Ordering(order, new int[0], new String[0]);
+        }
+
+        int[] groupRanks = grouping == Grouping.COURT ? ranks(bookings, Column.COURT) : dayRanks(bookings);
+        order = stableSort(order, groupRanks, true);
+
+        List<Integer> starts = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || groupRanks[order[i]] != groupRanks[order[i - 1]]) {
+                starts.add(i);
+                labels.add(groupLabel(bookings.get(order[i]), grouping));
+            }
+        }
+        return new Ordering(order, starts.stream().mapToInt(Integer::intValue).toArray(),
+                labels.toArray(new String[0]));
+    }
+
+    // Reorders by rank; ties keep their current relative order
+    private static int[] stableSort(int[] order, int[] ranks, boolean ascending) {
+        int maxRank = 0;
+        for (int rank : ranks) {
+            maxRank = Math.max(maxRank, rank);
+        }
+        long[] packed = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            int rank = ascending ? ranks[order[i]] : maxRank - ranks[order[i]];
+            packed[i] = ((long) rank << 32) | i;
+        }
+        Arrays.parallelSort(packed);
+        int[] sorted = new int[order.length];
+        for (int i = 0; i < packed.length; i++) {
+            sorted[i] = order[(int) packed[i]];
+        }
+        return sorted;
+    }
+
+    private static int[] ranks(List<Booking> bookings, Column column) {
+        int n = bookings.size();
+        int[] ranks = new int[n];
+        switch (column) {
+            case START -> {
+                long[] starts = new long[n];
+                for (int i = 0; i < n; i++) {
+                    starts[i] = sortableTime(bookings.get(i).startMillis());
+                }
+                return denseRanks(starts);
+            }
+            case STATUS -> {
+                // Unknown statuses after the known ones
+                int unknown = BookingStatus.values().length;
+                for (int i = 0; i < n; i++) {
+                    BookingStatus status = bookings.get(i).status();
+                    ranks[i] = status != null ? status.ordinal() : unknown;
+                }
+            }
+            case COURT -> {
+                // Rank each distinct court once, by name then id
+                Map<Integer, String> names = new HashMap<>();
+                for (Booking booking : bookings) {
+                    names.putIfAbsent(booking.courtId(), booking.court() != null ? booking.court().name() : null);
+                }
+                Map<Integer, Integer> rankById = rankKeys(names, Comparator
+                        .comparing((Map.Entry<Integer, String> e) -> e.getValue(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparing(Map.Entry::getKey));
+                for (int i = 0; i < n; i++) {
+                    ranks[i] = rankById.get(bookings.get(i).courtId());
+                }
+            }
+            case USER -> {
+                Map<Integer, String> names = new HashMap<>();
+                for (Booking booking : bookings) {
+                    names.putIfAbsent(booking.userId(), booking.user() != null ? booking.user().name() : null);
+                }
+                Map<Integer, Integer> rankById = rankKeys(names, Comparator
+                        .comparing((Map.Entry<Integer, String> e) -> e.getValue(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparing(Map.Entry::getKey));
+                for (int i = 0; i < n; i++) {
+                    ranks[i] = rankById.get(bookings.get(i).userId());
+                }
+            }
+        }
+        return ranks;
+    }
+
+    private static int[] dayRanks(List<Booking> bookings) {
+        long[] days = new long[bookings.size()];
+        for (int i = 0; i < days.length; i++) {
+            long start = bookings.get(i).startMillis();
+            days[i] = start == Booking.INVALID_TIME ? Long.MAX_VALUE : Math.floorDiv(start, DAY);
+        }
+        return denseRanks(days);
+    }
+
+    private static Map<Integer, Integer> rankKeys(Map<Integer, String> names,
+                                                  Comparator<Map.Entry<Integer, String>> comparator) {
+        List<Map.Entry<Integer, String>> entries = new ArrayList<>(names.entrySet());
+        entries.sort(comparator);
+        Map<Integer, Integer> rankById = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            rankById.put(entries.get(i).getKey(), i);
+        }
+        return rankById;
+    }
+
+    // Rank of each value among the distinct values, 0 for the smallest
+    private static int[] denseRanks(long[] values) {
+        long[] distinct = values.clone();
+        Arrays.parallelSort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[count - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        int[] ranks = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, values[i]);
+        }
+        return ranks;
+    }
+
+    // Bookings without a valid time sort last
+    private static long sortableTime(long millis) {
+        return millis == Booking.INVALID_TIME ? Long.MAX_VALUE : millis;
+    }
+
+    private static String groupLabel(Booking booking, Grouping grouping) {
+        if (grouping == Grouping.COURT) {
+            return booking.court() != null ? booking.court().name() : "Court #" + booking.courtId();
+        }
+        long start = booking.startMillis();
+        return start == Booking.INVALID_TIME ? "No start time"
+                : LocalDate.ofEpochDay(Math.floorDiv(start, DAY)).format(DAY_LABEL);
+    }
+}
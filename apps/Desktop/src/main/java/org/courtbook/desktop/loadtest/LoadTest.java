@@ -0,0 +1,391 @@
+package org.courtbook.desktop.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.services.ApiService;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load and soak test driver, run as {@code java -jar desktop.jar loadtest [options]}.
+ * <p>
+ * Simulates many admin sessions, each with its own ApiService, issuing a
+ * weighted mix of logins, filtered booking fetches and status updates.
+ * Requests arrive at a fixed rate whether or not earlier ones have finished
+ * (an open model), and latency is measured from each request's scheduled
+ * start, so a stalled server shows up as queueing delay instead of silently
+ * lowering the request rate. Every request runs on its own virtual thread.
+ * <p>
+ * Runs against {@code --target URL} or an in-process {@link StandInServer}.
+ * Status updates change real data, so against a target they also need
+ * {@code --allow-writes}.
+ */
+public class LoadTest {
+    private static final String USAGE = String.join("\n",
+            "Usage: loadtest (--target URL | --stand-in) [options]",
+            "  --clients N               simulated admin sessions (default 200)",
+            "  --rate R                  requests per second, fixed arrival rate (default 50)",
+            "  --duration S              seconds to run (default 60)",
+            "  --mix SPEC                scenario weights (default login=10,bookings=60,update=30)",
+            "  --max-in-flight N         drop arrivals beyond this many open requests (default 5000)",
+            "  --report-interval S       seconds between progress lines (default 10)",
+            "  --histogram-log FILE      write interval histograms in HdrHistogram log format",
+            "  --allow-writes            permit status updates against --target",
+            "  --stand-in-bookings N     bookings held by the stand-in (default 5000)",
+            "  --stand-in-courts N       courts held by the stand-in (default 8)",
+            "  --stand-in-latency MS     delay added to each stand-in response (default 20)",
+            "Credentials for --target are read from COURTBOOK_EMAIL and COURTBOOK_PASSWORD.");
+
+    private static final String[] SCENARIOS = {"login", "bookings", "update"};
+    private static final String[] FILTER_STATUSES = {"ALL", "PENDING", "CONFIRMED", "CANCELLED"};
+    private static final BookingStatus[] UPDATE_STATUSES = {BookingStatus.CONFIRMED, BookingStatus.PENDING};
+    // Latencies are recorded in microseconds
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, String> options = new HashMap<>();
+    private final Set<String> flags = new HashSet<>();
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private int maxInFlight;
+    private String email;
+    private String password;
+    private List<ApiService> clients;
+    private int[] bookingIds;
+    private int[] courtIds;
+
+    private static class Scenario {
+        final String name;
+        final int weight;
+        final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        final Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        long intervalErrors;
+
+        Scenario(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+
+    public static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        LoadTest loadTest = new LoadTest();
+        StandInServer standIn = null;
+        try {
+            loadTest.parseArgs(args);
+            String baseUrl;
+            if (loadTest.flags.contains("--stand-in")) {
+                standIn = new StandInServer(loadTest.intOption("--stand-in-bookings", 5000),
+                        loadTest.intOption("--stand-in-courts", 8), loadTest.intOption("--stand-in-latency", 20));
+                baseUrl = standIn.baseUrl();
+                System.out.println("Stand-in server at " + baseUrl);
+            } else {
+                baseUrl = loadTest.options.get("--target");
+            }
+            return loadTest.execute(baseUrl);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (ApiService.ApiException e) {
+            System.err.println("API error (" + e.getStatusCode() + "): " + e.getMessage());
+            return 1;
+        } catch (Exception e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            return 1;
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--stand-in") || arg.equals("--allow-writes")) {
+                flags.add(arg);
+            } else if (arg.startsWith("--") && i + 1 < args.length) {
+                options.put(arg, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+        }
+        if (flags.contains("--stand-in") == options.containsKey("--target")) {
+            throw new IllegalArgumentException("Give exactly one of --target URL or --stand-in");
+        }
+
+        for (String part : options.getOrDefault("--mix", "login=10,bookings=60,update=30").split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2 || !List.of(SCENARIOS).contains(pair[0])) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1]);
+            if (weight > 0) {
+                scenarios.put(pair[0], new Scenario(pair[0], weight));
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no scenario with a positive weight");
+        }
+        if (scenarios.containsKey("update") && !flags.contains("--stand-in") && !flags.contains("--allow-writes")) {
+            throw new IllegalArgumentException("The update scenario changes booking statuses; pass --allow-writes to run it against --target");
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + name + ": " + value);
+        }
+    }
+
+    private int execute(String baseUrl) throws Exception {
+        int clientCount = intOption("--clients", 200);
+        int rate = intOption("--rate", 50);
+        int duration = intOption("--duration", 60);
+        int reportInterval = intOption("--report-interval", 10);
+        maxInFlight = intOption("--max-in-flight", 5000);
+        if (clientCount < 1 || rate < 1 || duration < 1 || reportInterval < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("--clients, --rate, --duration, --report-interval and --max-in-flight must be positive");
+        }
+
+        if (flags.contains("--stand-in")) {
+            email = "loadtest@example.com";
+            password = "loadtest";
+        } else {
+            email = System.getenv("COURTBOOK_EMAIL");
+            password = System.getenv("COURTBOOK_PASSWORD");
+            if (email == null || password == null) {
+                throw new IllegalArgumentException("COURTBOOK_EMAIL and COURTBOOK_PASSWORD must be set");
+            }
+        }
+
+        clients = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            clients.add(new ApiService(baseUrl));
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            loginStorm(executor);
+            loadDataSet();
+            PrintStream histogramLog = openHistogramLog();
+            try {
+                drive(executor, rate, duration, reportInterval, histogramLog);
+            } finally {
+                if (histogramLog != null) {
+                    histogramLog.close();
+                }
+            }
+        }
+        return printSummary();
+    }
+
+    // Every session logs in at once, as after a deploy or an outage
+    private void loginStorm(ExecutorService executor) throws InterruptedException {
+        Histogram histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (ApiService client : clients) {
+            futures.add(executor.submit(() -> {
+                long callStart = System.nanoTime();
+                try {
+                    client.login(email, password);
+                    synchronized (histogram) {
+                        histogram.recordValue(micros(System.nanoTime() - callStart));
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.incrementAndGet();
+            }
+        }
+        System.out.printf("Login storm: %d sessions in %.1f s, %d failed, %s%n", clients.size(),
+                (System.nanoTime() - start) / 1e9, failures.get(), percentiles(histogram));
+        if (failures.get() == clients.size()) {
+            throw new IllegalStateException("No session could log in");
+        }
+    }
+
+    // Court and booking ids for the filter and update scenarios
+    private void loadDataSet() throws Exception {
+        Set<Integer> courts = new HashSet<>();
+        List<Integer> ids = new ArrayList<>();
+        clients.get(0).streamBookings(null, "ALL", booking -> {
+            ids.add(booking.id());
+            courts.add(booking.courtId());
+        });
+        bookingIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        courtIds = courts.stream().mapToInt(Integer::intValue).toArray();
+        System.out.printf("Data set: %d bookings on %d courts%n", bookingIds.length, courtIds.length);
+        if (bookingIds.length == 0 && scenarios.containsKey("update")) {
+            throw new IllegalStateException("No bookings to update");
+        }
+    }
+
+    private PrintStream openHistogramLog() throws FileNotFoundException {
+        String path = options.get("--histogram-log");
+        return path != null ? new PrintStream(path) : null;
+    }
+
+    private void drive(ExecutorService executor, int rate, int duration, int reportInterval,
+                       PrintStream histogramLog) throws InterruptedException {
+        HistogramLogWriter logWriter = null;
+        if (histogramLog != null) {
+            logWriter = new HistogramLogWriter(histogramLog);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputLegend();
+        }
+
+        int totalWeight = scenarios.values().stream().mapToInt(s -> s.weight).sum();
+        Scenario[] byWeight = new Scenario[totalWeight];
+        int filled = 0;
+        for (Scenario scenario : scenarios.values()) {
+            for (int i = 0; i < scenario.weight; i++) {
+                byWeight[filled++] = scenario;
+            }
+        }
+
+        System.out.printf("Driving %d req/s for %d s across %d sessions%n", rate, duration, clients.size());
+        long intervalNanos = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(duration);
+        long nextReport = start + TimeUnit.SECONDS.toNanos(reportInterval);
+        long arrivals = 0;
+        while (true) {
+            long intended = start + arrivals * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                report(now - start, logWriter);
+                nextReport += TimeUnit.SECONDS.toNanos(reportInterval);
+                continue;
+            }
+            if (intended > now) {
+                LockSupport.parkNanos(Math.min(intended, nextReport) - now);
+                continue;
+            }
+            Scenario scenario = byWeight[ThreadLocalRandom.current().nextInt(totalWeight)];
+            ApiService client = clients.get((int) (arrivals % clients.size()));
+            arrivals++;
+            // Past this point the generator itself would run out of memory
+            if (inFlight.get() >= maxInFlight) {
+                scenario.dropped.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            executor.execute(() -> runOnce(scenario, client, intended));
+        }
+
+        // Let stragglers finish so their latency is counted
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        report(System.nanoTime() - start, logWriter);
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests still in flight after 30 s drain%n", inFlight.get());
+        }
+    }
+
+    private void runOnce(Scenario scenario, ApiService client, long intendedStart) {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (scenario.name) {
+                case "login" -> client.login(email, password);
+                case "bookings" -> {
+                    // Mix of unfiltered, per-court, per-status and combined fetches
+                    Integer courtId = courtIds.length > 0 && random.nextBoolean()
+                            ? courtIds[random.nextInt(courtIds.length)] : null;
+                    String status = FILTER_STATUSES[random.nextInt(FILTER_STATUSES.length)];
+                    client.getAllBookings(courtId, status);
+                }
+                default -> client.updateBookingStatus(bookingIds[random.nextInt(bookingIds.length)],
+                        UPDATE_STATUSES[random.nextInt(UPDATE_STATUSES.length)]);
+            }
+            scenario.recorder.recordValue(micros(System.nanoTime() - intendedStart));
+        } catch (Exception e) {
+            scenario.errors.incrementAndGet();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void report(long elapsedNanos, HistogramLogWriter logWriter) {
+        StringBuilder line = new StringBuilder(String.format("[%5.0f s] in flight %d", elapsedNanos / 1e9, inFlight.get()));
+        for (Scenario scenario : scenarios.values()) {
+            Histogram interval = scenario.recorder.getIntervalHistogram();
+            scenario.total.add(interval);
+            long errors = scenario.errors.get();
+            long intervalErrors = errors - scenario.intervalErrors;
+            scenario.intervalErrors = errors;
+            line.append(String.format(" | %s n=%d err=%d p50=%.1f p99=%.1f ms", scenario.name,
+                    interval.getTotalCount(), intervalErrors,
+                    interval.getValueAtPercentile(50) / 1000.0, interval.getValueAtPercentile(99) / 1000.0));
+            if (logWriter != null) {
+                interval.setTag(scenario.name);
+                logWriter.outputIntervalHistogram(interval);
+            }
+        }
+        System.out.println(line);
+    }
+
+    private int printSummary() {
+        long totalErrors = 0;
+        System.out.println("Summary (latency from scheduled start):");
+        for (Scenario scenario : scenarios.values()) {
+            long errors = scenario.errors.get();
+            totalErrors += errors;
+            long dropped = scenario.dropped.get();
+            totalErrors += dropped;
+            System.out.printf("  %-8s %8d ok %6d failed %6d dropped  %s%n", scenario.name,
+                    scenario.total.getTotalCount(), errors, dropped, percentiles(scenario.total));
+        }
+        return totalErrors == 0 ? 0 : 1;
+    }
+
+    private static String percentiles(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "no samples";
+        }
+        return String.format("ms: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f",
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(1, Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,327 @@
+package org.courtbook.desktop.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process imitation of the REST API's auth and booking endpoints, for load
+ * tests that should not touch a real deployment. Holds a generated data set
+ * in memory and can add a fixed delay per request to model network and
+ * database time. Any email/password pair logs in as an admin. Each email gets
+ * its own token, {@code /auth/me} answers with the user the presented token
+ * belongs to, and the data endpoints refuse requests without a valid token, so
+ * a client that sends another session's token, or none, is caught.
+ */
+public class StandInServer implements AutoCloseable {
+    private static final Pattern BOOKING_PATH = Pattern.compile("/api/courts/bookings/(\\d+)");
+    private static final Pattern STATUS_BODY = Pattern.compile("\"status\"\\s*:\\s*\"(\\w+)\"");
+    private static final Pattern EMAIL_BODY = Pattern.compile("\"email\"\\s*:\\s*\"([^\"]*)\"");
+    private static final String TOKEN_PREFIX = "stand-in:";
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "CANCELLED", "COMPLETED"};
+    private static final int MAX_SKIP_PAGES = 10; // the API's cap on skip, in multiples of limit
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final int courtCount;
+    private final StoredBooking[] bookings; // newest first, like the API; ids count up with start time
+    private final StoredBooking[][] bookingsByCourt; // like the court index of a real database
+
+    private static class StoredBooking {
+        final int id;
+        final int userId;
+        final int courtId;
+        final String startTime;
+        final String endTime;
+        final String createdAt;
+        volatile String status;
+
+        StoredBooking(int id, int userId, int courtId, String startTime, String endTime, String createdAt, String status) {
+            this.id = id;
+            this.userId = userId;
+            this.courtId = courtId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.createdAt = createdAt;
+            this.status = status;
+        }
+    }
+
+    public StandInServer(int bookingCount, int courtCount, long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.courtCount = courtCount;
+        this.bookings = generate(bookingCount, courtCount);
+        this.bookingsByCourt = new StoredBooking[courtCount][];
+        for (int court = 1; court <= courtCount; court++) {
+            int id = court;
+            bookingsByCourt[court - 1] = Arrays.stream(bookings).filter(b -> b.courtId == id).toArray(StoredBooking[]::new);
+        }
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // Platform threads: the JDK server writes responses while holding a
+        // monitor, which would pin virtual threads and starve the load generator
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stand-in-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/auth/login", this::handleLogin);
+        server.createContext("/api/auth/me", this::handleMe);
+        server.createContext("/api/auth/logout", exchange -> respond(exchange, 200, "{\"message\":\"Logged out\"}"));
+        server.createContext("/api/courts", this::handleCourts);
+        server.start();
+    }
+
+    /**
+     * Base URL to pass to ApiService.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static StoredBooking[] generate(int count, int courtCount) {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        // Hour slots spread over the last year and the next month
+        long[] starts = new long[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = now - 365L * 86_400_000L + (long) random.nextInt(395 * 24) * 3_600_000L;
+        }
+        Arrays.sort(starts);
+        StoredBooking[] result = new StoredBooking[count];
+        for (int i = 0; i < count; i++) {
+            // Served newest first, with ties in descending id order as the API sorts them
+            long start = starts[count - 1 - i];
+            long end = start + (1 + random.nextInt(2)) * 3_600_000L;
+            long created = start - (long) random.nextInt(14 * 24) * 3_600_000L;
+            result[i] = new StoredBooking(count - i, 1 + random.nextInt(500), 1 + random.nextInt(courtCount),
+                    Instant.ofEpochMilli(start).toString(), Instant.ofEpochMilli(end).toString(),
+                    Instant.ofEpochMilli(created).toString(), STATUSES[random.nextInt(STATUSES.length)]);
+        }
+        return result;
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Matcher matcher = EMAIL_BODY.matcher(body);
+        if (!matcher.find()) {
+            respond(exchange, 400, "{\"message\":\"Missing email\"}");
+            return;
+        }
+        String email = matcher.group(1);
+        respond(exchange, 200, userJson(email, "\"refresh_token\":\"" + TOKEN_PREFIX + email + "\","));
+    }
+
+    private void handleMe(HttpExchange exchange) throws IOException {
+        String email = tokenEmail(exchange);
+        if (email == null) {
+            respond(exchange, 401, "{\"message\":\"Not authenticated\"}");
+        } else {
+            respond(exchange, 200, userJson(email, ""));
+        }
+    }
+
+    // Email the request's token was issued to, null without a valid token
+    private static String tokenEmail(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        String bearer = "Bearer " + TOKEN_PREFIX;
+        return header != null && header.startsWith(bearer) ? header.substring(bearer.length()) : null;
+    }
+
+    private void handleCourts(HttpExchange exchange) throws IOException {
+        if (tokenEmail(exchange) == null) {
+            respond(exchange, 401, "{\"message\":\"Not authenticated\"}");
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/api/courts") || path.equals("/api/courts/")) {
+            respond(exchange, 200, courtsJson());
+        } else if (path.equals("/api/courts/bookings")) {
+            if (skipTooFar(exchange.getRequestURI())) {
+                respond(exchange, 400, "{\"message\":\"Skip must be at most " + MAX_SKIP_PAGES + " times the limit\"}");
+                return;
+            }
+            respond(exchange, 200, out -> writeBookings(exchange.getRequestURI(), out));
+        } else {
+            Matcher matcher = BOOKING_PATH.matcher(path);
+            if (matcher.matches() && exchange.getRequestMethod().equals("PUT")) {
+                updateBooking(exchange, Integer.parseInt(matcher.group(1)));
+            } else {
+                respond(exchange, 404, "{\"message\":\"Not found\"}");
+            }
+        }
+    }
+
+    private void updateBooking(HttpExchange exchange, int id) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Matcher matcher = STATUS_BODY.matcher(body);
+        if (!matcher.find()) {
+            respond(exchange, 400, "{\"message\":\"Missing status\"}");
+        } else if (id < 1 || id > bookings.length) {
+            respond(exchange, 404, "{\"message\":\"Booking not found\"}");
+        } else {
+            StoredBooking booking = bookings[bookings.length - id];
+            booking.status = matcher.group(1);
+            respond(exchange, 200, "{\"data\":{\"booking\":" + bookingJson(booking) + "}}");
+        }
+    }
+
+    private String courtsJson() {
+        StringBuilder json = new StringBuilder("{\"data\":{\"courts\":[");
+        for (int i = 1; i <= courtCount; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append(courtJson(i));
+        }
+        return json.append("]}}").toString();
+    }
+
+    // Like the API, paged requests may skip at most MAX_SKIP_PAGES times the limit
+    private static boolean skipTooFar(URI uri) {
+        if (uri.getRawQuery() == null) {
+            return false;
+        }
+        long limit = -1;
+        long skip = 0;
+        for (String pair : uri.getRawQuery().split("&")) {
+            if (pair.startsWith("limit=")) {
+                limit = Long.parseLong(pair.substring(6));
+            } else if (pair.startsWith("skip=")) {
+                skip = Long.parseLong(pair.substring(5));
+            }
+        }
+        return limit >= 0 && skip > limit * MAX_SKIP_PAGES;
+    }
+
+    // Written straight to the response so large result sets aren't buffered per request.
+    // With a limit, pages like the real API; the cursor is the index to resume from
+    private void writeBookings(URI uri, Writer out) throws IOException {
+        Integer courtId = null;
+        String status = null;
+        Integer limit = null;
+        String cursor = null;
+        int skip = 0;
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                if (pair.startsWith("courtId=")) {
+                    courtId = Integer.valueOf(pair.substring(8));
+                } else if (pair.startsWith("status=")) {
+                    status = pair.substring(7);
+                } else if (pair.startsWith("limit=")) {
+                    limit = Integer.valueOf(pair.substring(6));
+                } else if (pair.startsWith("cursor=")) {
+                    cursor = pair.substring(7);
+                } else if (pair.startsWith("skip=")) {
+                    skip = Integer.parseInt(pair.substring(5));
+                }
+            }
+        }
+        StoredBooking[] source = courtId == null ? bookings
+                : courtId >= 1 && courtId <= courtCount ? bookingsByCourt[courtId - 1] : new StoredBooking[0];
+        out.write("{\"data\":{\"bookings\":[");
+        int written = 0;
+        int nextIndex = -1;
+        for (int i = cursor != null ? Integer.parseInt(cursor) : 0; i < source.length; i++) {
+            StoredBooking booking = source[i];
+            if (status == null || status.equals(booking.status)) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                if (limit != null && written == limit) {
+                    nextIndex = i;
+                    break;
+                }
+                if (written > 0) {
+                    out.write(',');
+                }
+                out.write(bookingJson(booking));
+                written++;
+            }
+        }
+        out.write(']');
+        if (limit != null) {
+            out.write(",\"nextCursor\":" + (nextIndex >= 0 ? "\"" + nextIndex + "\"" : "null"));
+            if (cursor == null) {
+                int total = 0;
+                for (StoredBooking booking : source) {
+                    if (status == null || status.equals(booking.status)) {
+                        total++;
+                    }
+                }
+                out.write(",\"total\":" + total);
+            }
+        }
+        out.write("}}");
+    }
+
+    private static String bookingJson(StoredBooking booking) {
+        return "{\"id\":" + booking.id + ",\"userId\":" + booking.userId + ",\"courtId\":" + booking.courtId
+                + ",\"startTime\":\"" + booking.startTime + "\",\"endTime\":\"" + booking.endTime
+                + "\",\"status\":\"" + booking.status + "\",\"createdAt\":\"" + booking.createdAt
+                + "\",\"user\":{\"id\":" + booking.userId + ",\"name\":\"User " + booking.userId
+                + "\",\"email\":\"user" + booking.userId + "@example.com\",\"role\":\"USER\"}"
+                + ",\"court\":" + courtJson(booking.courtId) + "}";
+    }
+
+    private static String courtJson(int id) {
+        return "{\"id\":" + id + ",\"name\":\"Court " + id + "\",\"location\":\"Hall " + (1 + id % 3)
+                + "\",\"status\":\"AVAILABLE\"}";
+    }
+
+    private static String userJson(String email, String extraFields) {
+        return "{\"data\":{\"user\":{" + extraFields
+                + "\"id\":1,\"name\":\"Load Test\",\"email\":\"" + email + "\",\"role\":\"ADMIN\"}}}";
+    }
+
+    private void respond(HttpExchange exchange, int code, String json) throws IOException {
+        respond(exchange, code, out -> out.write(json));
+    }
+
+    private interface Body {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    private void respond(HttpExchange exchange, int code, Body body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            // Length 0 selects chunked encoding
+            exchange.sendResponseHeaders(code, 0);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 16384)) {
+                body.writeTo(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.courtbook.desktop.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.User;
+import org.courtbook.desktop.services.ApiService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency stress test of ApiService, run as
+ * {@code java -jar desktop.jar stress [options]}.
+ * <p>
+ * For each thread count in the sweep, starts that many threads against an
+ * in-process {@link StandInServer}, two threads to a session, each with its
+ * own login. Every thread runs a closed loop of checked calls as fast as it
+ * can: {@code /auth/me} must name its own session's user, a filtered booking
+ * fetch must return exactly the bookings of that court and status, and now
+ * and then the session logs in again while its other thread has requests in
+ * flight. Reports throughput and latency per thread count; exits non-zero on
+ * any failed call, token mix-up or wrong result.
+ */
+public class StressTest {
+    private static final String USAGE = String.join("\n",
+            "Usage: stress [options]",
+            "  --threads LIST            thread counts to sweep (default 1,2,4,8,16,32)",
+            "  --duration S              seconds per thread count (default 10)",
+            "  --stand-in-bookings N     bookings held by the stand-in (default 5000)",
+            "  --stand-in-courts N       courts held by the stand-in (default 8)",
+            "  --stand-in-latency MS     delay added to each stand-in response (default 5)");
+
+    private static final String[] FILTER_STATUSES = {"ALL", "PENDING", "CONFIRMED", "CANCELLED"};
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, String> options = new HashMap<>();
+    // "court/status" -> expected number of bookings, court "*" for all courts
+    private final Map<String, Integer> expectedCounts = new HashMap<>();
+    private int courtCount;
+
+    private static class Counters {
+        final Recorder latency = new Recorder(MAX_LATENCY_MICROS, 3);
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong tokenLeaks = new AtomicLong();
+        final AtomicLong wrongResults = new AtomicLong();
+    }
+
+    public static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        StressTest stressTest = new StressTest();
+        try {
+            stressTest.parseArgs(args);
+            try (StandInServer standIn = new StandInServer(stressTest.intOption("--stand-in-bookings", 5000),
+                    stressTest.intOption("--stand-in-courts", 8), stressTest.intOption("--stand-in-latency", 5))) {
+                return stressTest.execute(standIn.baseUrl());
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (ApiService.ApiException e) {
+            System.err.println("API error (" + e.getStatusCode() + "): " + e.getMessage());
+            return 1;
+        } catch (Exception e) {
+            System.err.println("Stress test failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--") && i + 1 < args.length) {
+                options.put(args[i], args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + name + ": " + value);
+        }
+    }
+
+    private int[] threadCounts() {
+        String[] parts = options.getOrDefault("--threads", "1,2,4,8,16,32").split(",");
+        int[] counts = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                counts[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid thread count: " + parts[i]);
+            }
+            if (counts[i] < 1) {
+                throw new IllegalArgumentException("Thread counts must be positive");
+            }
+        }
+        return counts;
+    }
+
+    private int execute(String baseUrl) throws Exception {
+        int[] threadCounts = threadCounts();
+        int duration = intOption("--duration", 10);
+        if (duration < 1) {
+            throw new IllegalArgumentException("--duration must be positive");
+        }
+        loadExpectedCounts(baseUrl);
+
+        System.out.printf("%7s %9s %9s %8s %8s %8s %7s %7s %7s%n",
+                "threads", "calls", "calls/s", "p50 ms", "p99 ms", "max ms", "errors", "leaks", "wrong");
+        long failures = 0;
+        for (int threads : threadCounts) {
+            failures += runLevel(baseUrl, threads, duration);
+        }
+        System.out.println(failures == 0 ? "No errors, token leaks or wrong results"
+                : failures + " failed checks");
+        return failures == 0 ? 0 : 1;
+    }
+
+    // The unfiltered list is the reference for every filtered fetch
+    private void loadExpectedCounts(String baseUrl) throws Exception {
+        ApiService reference = new ApiService(baseUrl);
+        reference.login("reference@example.com", "stress");
+        courtCount = reference.getCourts().size();
+        for (Booking booking : reference.getAllBookings(null, "ALL")) {
+            String status = booking.status() != null ? booking.status().name() : "";
+            for (String court : new String[]{"*", String.valueOf(booking.courtId())}) {
+                expectedCounts.merge(court + "/ALL", 1, Integer::sum);
+                expectedCounts.merge(court + "/" + status, 1, Integer::sum);
+            }
+        }
+        System.out.printf("Stand-in at %s: %d bookings on %d courts%n", baseUrl,
+                expectedCounts.getOrDefault("*/ALL", 0), courtCount);
+    }
+
+    private long runLevel(String baseUrl, int threads, int duration) throws Exception {
+        // Two threads per session, so calls race with logins on the same session too
+        int sessionCount = Math.max(1, threads / 2);
+        List<ApiService> sessions = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            ApiService session = new ApiService(baseUrl);
+            String email = "stress-" + threads + "-" + i + "@example.com";
+            session.login(email, "stress");
+            sessions.add(session);
+            emails.add(email);
+        }
+
+        Counters counters = new Counters();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration) + TimeUnit.MILLISECONDS.toNanos(100);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            ApiService session = sessions.get(t % sessionCount);
+            String email = emails.get(t % sessionCount);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (System.nanoTime() < deadline) {
+                    callOnce(session, email, counters);
+                }
+            }, "stress-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        Histogram histogram = counters.latency.getIntervalHistogram();
+        System.out.printf("%7d %9d %9.0f %8.1f %8.1f %8.1f %7d %7d %7d%n", threads, counters.calls.get(),
+                counters.calls.get() / seconds, histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getMaxValue() / 1000.0,
+                counters.errors.get(), counters.tokenLeaks.get(), counters.wrongResults.get());
+        return counters.errors.get() + counters.tokenLeaks.get() + counters.wrongResults.get();
+    }
+
+    private void callOnce(ApiService session, String email, Counters counters) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        long callStart = System.nanoTime();
+        try {
+            if (pick < 40) {
+                User user = session.getCurrentUser();
+                if (!email.equals(user.email())) {
+                    counters.tokenLeaks.incrementAndGet();
+                }
+            } else if (pick < 95) {
+                Integer courtId = random.nextBoolean() ? 1 + random.nextInt(courtCount) : null;
+                String status = FILTER_STATUSES[random.nextInt(FILTER_STATUSES.length)];
+                if (!matches(session.getAllBookings(courtId, status), courtId, status)) {
+                    counters.wrongResults.incrementAndGet();
+                }
+            } else {
+                // Same account again: the token is swapped while the session's other thread is mid-call
+                session.login(email, "stress");
+            }
+            counters.latency.recordValue(Math.max(1, Math.min(MAX_LATENCY_MICROS,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStart))));
+        } catch (Exception e) {
+            counters.errors.incrementAndGet();
+        } finally {
+            counters.calls.incrementAndGet();
+        }
+    }
+
+    private boolean matches(List<Booking> bookings, Integer courtId, String status) {
+        for (Booking booking : bookings) {
+            if ((courtId != null && booking.courtId() != courtId)
+                    || (!status.equals("ALL") && (booking.status() == null || !booking.status().name().equals(status)))) {
+                return false;
+            }
+        }
+        String key = (courtId != null ? courtId.toString() : "*") + "/" + status;
+        return bookings.size() == expectedCounts.getOrDefault(key, 0);
+    }
+}
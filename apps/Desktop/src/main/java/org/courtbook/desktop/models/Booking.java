@@ -1,98 +1,156 @@
 package org.courtbook.desktop.models;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * A booking with its times already parsed to epoch millis. The API's "Z"
+ * timestamps are read as UTC wall-clock time; a time that cannot be parsed
+ * is {@link #INVALID_TIME}. User and court are null when the API did not
+ * embed them.
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class Booking {
-    private int id;
-    @JsonProperty("userId")
-    private int userId;
-    @JsonProperty("courtId")
-    private int courtId;
-    @JsonProperty("startTime")
-    private String startTime;
-    @JsonProperty("endTime")
-    private String endTime;
-    private String status;
-    
-    // Navigation properties
-    private User user;
-    private Court court;
-
-    // Constructors
-    public Booking() {}
-
-    public Booking(int id, int userId, int courtId, String startTime, String endTime, String status) {
-        this.id = id;
-        this.userId = userId;
-        this.courtId = courtId;
-        this.startTime = startTime;
-        this.endTime = endTime;
-        this.status = status;
+public record Booking(int id, int userId, int courtId, long startMillis, long endMillis, long createdMillis,
+                      BookingStatus status, User user, Court court) {
+
+    /** Stands in for a time that is missing or cannot be parsed. */
+    public static final long INVALID_TIME = Long.MIN_VALUE + 1;
+
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /**
+     * Builds a booking from the API's JSON field values.
+     */
+    @JsonCreator
+    public static Booking fromJson(@JsonProperty("id") int id,
+                                   @JsonProperty("userId") int userId,
+                                   @JsonProperty("courtId") int courtId,
+                                   @JsonProperty("startTime") String startTime,
+                                   @JsonProperty("endTime") String endTime,
+                                   @JsonProperty("createdAt") String createdAt,
+                                   @JsonProperty("status") BookingStatus status,
+                                   @JsonProperty("user") User user,
+                                   @JsonProperty("court") Court court) {
+        return new Booking(id, userId, courtId, parseTime(startTime), parseTime(endTime), parseTime(createdAt),
+                status, user, court);
     }
 
-    // Getters and Setters
-    public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
-
-    public int getUserId() { return userId; }
-    public void setUserId(int userId) { this.userId = userId; }
-
-    public int getCourtId() { return courtId; }
-    public void setCourtId(int courtId) { this.courtId = courtId; }
+    public Booking withStatus(BookingStatus status) {
+        return new Booking(id, userId, courtId, startMillis, endMillis, createdMillis, status, user, court);
+    }
 
-    public String getStartTime() { return startTime; }
-    public void setStartTime(String startTime) { this.startTime = startTime; }
+    // Helper methods
+    public boolean isPending() {
+        return status == BookingStatus.PENDING;
+    }
 
-    public String getEndTime() { return endTime; }
-    public void setEndTime(String endTime) { this.endTime = endTime; }
+    public boolean isConfirmed() {
+        return status == BookingStatus.CONFIRMED;
+    }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public boolean isCancelled() {
+        return status == BookingStatus.CANCELLED;
+    }
 
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
+    /** Start time in the API's ISO format, or null if unknown. */
+    public String startTime() {
+        return formatTime(startMillis);
+    }
 
-    public Court getCourt() { return court; }
-    public void setCourt(Court court) { this.court = court; }
+    /** End time in the API's ISO format, or null if unknown. */
+    public String endTime() {
+        return formatTime(endMillis);
+    }
 
-    // Helper methods
-    public boolean isPending() {
-        return "PENDING".equals(status);
+    /** Creation time in the API's ISO format, or null if unknown. */
+    public String createdAt() {
+        return formatTime(createdMillis);
     }
 
-    public boolean isConfirmed() {
-        return "CONFIRMED".equals(status);
+    public String formattedStartTime() {
+        return formatForDisplay(startMillis);
     }
 
-    public boolean isCancelled() {
-        return "CANCELLED".equals(status);
+    public String formattedEndTime() {
+        return formatForDisplay(endMillis);
     }
 
-    public String getFormattedStartTime() {
+    /**
+     * Parses an API timestamp to epoch millis, reading it as wall-clock UTC.
+     * Returns {@link #INVALID_TIME} for null or malformed input.
+     */
+    public static long parseTime(String time) {
+        if (time == null) {
+            return INVALID_TIME;
+        }
+        // Fast path for the API's "yyyy-MM-ddTHH:mm:ss[.SSS]Z" timestamps; anything else,
+        // out-of-range fields included, takes the slow path and parses or fails there
+        if (time.length() >= 19 && time.charAt(4) == '-' && time.charAt(7) == '-' && time.charAt(10) == 'T'
+                && time.charAt(13) == ':' && time.charAt(16) == ':') {
+            char suffix = time.length() > 19 ? time.charAt(19) : 'Z';
+            int year = digits(time, 0, 4);
+            int month = digits(time, 5, 2);
+            int day = digits(time, 8, 2);
+            int hour = digits(time, 11, 2);
+            int minute = digits(time, 14, 2);
+            int second = digits(time, 17, 2);
+            int millis = suffix == '.' && time.length() >= 23 ? digits(time, 20, 3)
+                    : suffix == 'Z' && time.length() <= 20 ? 0 : -1;
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1
+                    && hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60
+                    && millis >= 0) {
+                LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+                if (day <= firstOfMonth.lengthOfMonth()) {
+                    long epochDay = firstOfMonth.toEpochDay() + day - 1;
+                    return ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+                }
+            }
+        }
         try {
-            LocalDateTime dateTime = LocalDateTime.parse(startTime.replace("Z", ""));
-            return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+            LocalDateTime dateTime = LocalDateTime.parse(time.replace("Z", ""));
+            return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
         } catch (Exception e) {
-            return startTime;
+            return INVALID_TIME;
         }
     }
 
-    public String getFormattedEndTime() {
-        try {
-            LocalDateTime dateTime = LocalDateTime.parse(endTime.replace("Z", ""));
-            return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-        } catch (Exception e) {
-            return endTime;
+    /**
+     * Formats epoch millis back to the API's ISO format, or null for
+     * {@link #INVALID_TIME}.
+     */
+    public static String formatTime(long millis) {
+        return millis == INVALID_TIME ? null : Instant.ofEpochMilli(millis).toString();
+    }
+
+    // Parses a run of ASCII digits, or returns -1 if any char is not a digit
+    private static int digits(String text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String formatForDisplay(long millis) {
+        if (millis == INVALID_TIME) {
+            return "N/A";
         }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), 0, ZoneOffset.UTC).format(DISPLAY_FORMAT);
     }
 
     @Override
     public String toString() {
-        return "Booking{id=" + id + ", userId=" + userId + ", courtId=" + courtId + 
-               ", startTime='" + startTime + "', endTime='" + endTime + "', status='" + status + "'}";
+        return "Booking{id=" + id + ", userId=" + userId + ", courtId=" + courtId +
+               ", startTime='" + startTime() + "', endTime='" + endTime() + "', status='" + status + "'}";
     }
 }
@@ -0,0 +1,28 @@
+package org.courtbook.desktop.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Status of a booking, mirroring the API's BookingStatus enum.
+ */
+public enum BookingStatus {
+    PENDING, CONFIRMED, CANCELLED, COMPLETED;
+
+    private static final BookingStatus[] VALUES = values();
+
+    /**
+     * Parses the API's name for a value, or returns null when it is missing
+     * or unknown to this client.
+     */
+    @JsonCreator
+    public static BookingStatus fromName(String name) {
+        if (name != null) {
+            for (BookingStatus value : VALUES) {
+                if (value.name().equals(name)) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+}
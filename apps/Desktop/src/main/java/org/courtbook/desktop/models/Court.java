@@ -1,37 +1,9 @@
 package org.courtbook.desktop.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class Court {
-    private int id;
-    private String name;
-    private String location;
-    private String status;
-
-    // Constructors
-    public Court() {}
-
-    public Court(int id, String name, String location, String status) {
-        this.id = id;
-        this.name = name;
-        this.location = location;
-        this.status = status;
-    }
-
-    // Getters and Setters
-    public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
-
-    public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
-
-    public String getLocation() { return location; }
-    public void setLocation(String location) { this.location = location; }
-
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+public record Court(int id, String name, String location, CourtStatus status) {
 
     @Override
     public String toString() {
@@ -0,0 +1,28 @@
+package org.courtbook.desktop.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Status of a court, mirroring the API's CourtStatus enum.
+ */
+public enum CourtStatus {
+    AVAILABLE, MAINTENANCE, CLOSED;
+
+    private static final CourtStatus[] VALUES = values();
+
+    /**
+     * Parses the API's name for a value, or returns null when it is missing
+     * or unknown to this client.
+     */
+    @JsonCreator
+    public static CourtStatus fromName(String name) {
+        if (name != null) {
+            for (CourtStatus value : VALUES) {
+                if (value.name().equals(name)) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+}
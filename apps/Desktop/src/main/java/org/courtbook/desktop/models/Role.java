@@ -0,0 +1,28 @@
+package org.courtbook.desktop.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * User role, mirroring the API's Role enum.
+ */
+public enum Role {
+    USER, ADMIN;
+
+    private static final Role[] VALUES = values();
+
+    /**
+     * Parses the API's name for a value, or returns null when it is missing
+     * or unknown to this client.
+     */
+    @JsonCreator
+    public static Role fromName(String name) {
+        if (name != null) {
+            for (Role value : VALUES) {
+                if (value.name().equals(name)) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,40 +1,12 @@
 package org.courtbook.desktop.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class User {
-    private int id;
-    private String name;
-    private String email;
-    private String role;
-
-    // Constructors
-    public User() {}
-
-    public User(int id, String name, String email, String role) {
-        this.id = id;
-        this.name = name;
-        this.email = email;
-        this.role = role;
-    }
-
-    // Getters and Setters
-    public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
-
-    public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
-
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
-
-    public String getRole() { return role; }
-    public void setRole(String role) { this.role = role; }
+public record User(int id, String name, String email, Role role) {
 
     public boolean isAdmin() {
-        return "ADMIN".equals(role);
+        return role == Role.ADMIN;
     }
 
     @Override
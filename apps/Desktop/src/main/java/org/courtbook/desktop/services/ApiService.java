@@ -1,42 +1,108 @@
 package org.courtbook.desktop.services;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import okhttp3.*;
 import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
 import org.courtbook.desktop.models.Court;
 import org.courtbook.desktop.models.User;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ApiService {
-    private static final String API_BASE_URL = "https://courtbook-rest.azurewebsites.net/api";
+    private static final String DEFAULT_API_BASE_URL = "https://courtbook-rest.azurewebsites.net/api";
+
+    // Shared by every ApiService in the process so parallel callers reuse
+    // warm connections instead of each opening their own pool
+    private static final ConnectionPool CONNECTION_POOL = new ConnectionPool(16, 5, TimeUnit.MINUTES);
+    private static final Dispatcher DISPATCHER = createDispatcher();
+    private static final OkHttpClient BASE_CLIENT = new OkHttpClient.Builder()
+            .connectTimeout(30, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .writeTimeout(30, TimeUnit.SECONDS)
+            .connectionPool(CONNECTION_POOL)
+            .dispatcher(DISPATCHER)
+            .build();
+
+    // Model decoding goes through the hand-written deserializers in ModelModule;
+    // mapper and readers are thread-safe and shared by all instances
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new ModelModule());
+    private static final ObjectReader BOOKING_READER = OBJECT_MAPPER.readerFor(Booking.class);
+    private static final ObjectReader USER_READER = OBJECT_MAPPER.readerFor(User.class);
+    private static final ObjectReader COURT_READER = OBJECT_MAPPER.readerFor(Court.class);
+
+    // Request/response logging, enable with -Dcourtbook.debug=true
+    private static final boolean DEBUG = Boolean.getBoolean("courtbook.debug");
+    // Order of the bookings endpoint; unparseable times last
+    private static final Comparator<Booking> NEWEST_FIRST = Comparator.comparingLong(Booking::startMillis)
+            .thenComparingInt(Booking::id).reversed();
+
+    private final String apiBaseUrl;
     private final OkHttpClient client;
-    private final ObjectMapper objectMapper;
-    private String authToken; // Store the auth token for subsequent requests
+    // Auth token for subsequent requests, swapped atomically on login/logout
+    private final AtomicReference<String> authToken = new AtomicReference<>();
 
     public ApiService() {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
+        this(DEFAULT_API_BASE_URL);
+    }
+
+    public ApiService(String apiBaseUrl) {
+        this.apiBaseUrl = apiBaseUrl;
+        // Per-instance cookie jar and token keep sessions apart; pool and dispatcher are shared
+        this.client = BASE_CLIENT.newBuilder()
                 .cookieJar(new SimpleCookieJar())
                 .build();
-        this.objectMapper = new ObjectMapper();
     }
 
-    // Simple cookie jar implementation
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(64);
+        dispatcher.setMaxRequestsPerHost(16);
+        return dispatcher;
+    }
+
+    public String getApiBaseUrl() {
+        return apiBaseUrl;
+    }
+
+    private static void debug(String message) {
+        if (DEBUG) {
+            System.out.println(message);
+        }
+    }
+
+    // Two-part form so large response bodies aren't concatenated when logging is off
+    private static void debug(String label, String detail) {
+        if (DEBUG) {
+            System.out.println(label + detail);
+        }
+    }
+
+    // Simple cookie jar implementation, safe to call from dispatcher threads
     private static class SimpleCookieJar implements CookieJar {
-        private final Map<String, List<Cookie>> cookieStore = new HashMap<>();
+        private final Map<String, List<Cookie>> cookieStore = new ConcurrentHashMap<>();
 
         @Override
         public void saveFromResponse(HttpUrl url, List<Cookie> cookies) {
-            cookieStore.put(url.host(), cookies);
+            cookieStore.put(url.host(), List.copyOf(cookies));
         }
 
         @Override
@@ -44,16 +110,22 @@ public class ApiService {
             List<Cookie> cookies = cookieStore.get(url.host());
             return cookies != null ? cookies : new ArrayList<>();
         }
+
+        public void clear() {
+            cookieStore.clear();
+        }
     }
 
     // Helper method to create authenticated request builder
     private Request.Builder createAuthenticatedRequestBuilder() {
         Request.Builder builder = new Request.Builder();
+        // Read the token once so a concurrent logout can't swap it mid-build
+        String authToken = this.authToken.get();
         if (authToken != null && !authToken.isEmpty()) {
             builder.addHeader("Authorization", "Bearer " + authToken);
-            System.out.println("Adding Authorization header: Bearer " + authToken.substring(0, Math.min(20, authToken.length())) + "...");
+            debug("Adding Authorization header: Bearer " + authToken.substring(0, Math.min(20, authToken.length())) + "...");
         } else {
-            System.out.println("Warning: No auth token available for authenticated request");
+            debug("Warning: No auth token available for authenticated request");
         }
         return builder;
     }
@@ -63,28 +135,28 @@ public class ApiService {
         RequestBody body = RequestBody.create(json, MediaType.get("application/json"));
 
         Request request = new Request.Builder()
-                .url(API_BASE_URL + "/auth/login")
+                .url(apiBaseUrl + "/auth/login")
                 .post(body)
                 .addHeader("Content-Type", "application/json")
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
             String responseBody = response.body().string();
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
+            JsonNode jsonNode = OBJECT_MAPPER.readTree(responseBody);
 
             if (!response.isSuccessful()) {
                 String message = jsonNode.has("message") ? jsonNode.get("message").asText() : "Login failed";
                 throw new ApiException(message, response.code());
             }
-            System.out.println( "Login response: " + responseBody );
+            debug("Login response: ", responseBody);
             if (jsonNode.has("data") && jsonNode.get("data").has("user")) {
                 JsonNode userData = jsonNode.get("data").get("user");
-                User user = objectMapper.treeToValue(userData, User.class);
+                User user = USER_READER.readValue(userData);
                 
                 // Extract and store the refresh_token for Authorization header
                 if (userData.has("refresh_token")) {
-                    this.authToken = userData.get("refresh_token").asText();
-                    System.out.println("Stored auth token: " + this.authToken);
+                    this.authToken.set(userData.get("refresh_token").asText());
+                    debug("Stored auth token: ", this.authToken.get());
                 }
                 
                 return user;
@@ -96,15 +168,15 @@ public class ApiService {
 
     public User getCurrentUser() throws IOException, ApiException {
         Request request = createAuthenticatedRequestBuilder()
-                .url(API_BASE_URL + "/auth/me")
+                .url(apiBaseUrl + "/auth/me")
                 .get()
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
             String responseBody = response.body().string();
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
+            JsonNode jsonNode = OBJECT_MAPPER.readTree(responseBody);
             
-            System.out.println("getCurrentUser response: " + responseBody);
+            debug("getCurrentUser response: ", responseBody);
 
             if (!response.isSuccessful()) {
                 String message = jsonNode.has("message") ? jsonNode.get("message").asText() : "Failed to get user";
@@ -113,7 +185,7 @@ public class ApiService {
 
             if (jsonNode.has("data") && jsonNode.get("data").has("user")) {
                 JsonNode userData = jsonNode.get("data").get("user");
-                return objectMapper.treeToValue(userData, User.class);
+                return USER_READER.readValue(userData);
             }
 
             throw new ApiException("Invalid response format", 500);
@@ -122,15 +194,15 @@ public class ApiService {
 
     public List<Court> getCourts() throws IOException, ApiException {
         Request request = createAuthenticatedRequestBuilder()
-                .url(API_BASE_URL + "/courts")
+                .url(apiBaseUrl + "/courts")
                 .get()
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
             String responseBody = response.body().string();
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
+            JsonNode jsonNode = OBJECT_MAPPER.readTree(responseBody);
             
-            System.out.println("getCourts response: " + responseBody);
+            debug("getCourts response: ", responseBody);
 
             if (!response.isSuccessful()) {
                 String message = jsonNode.has("message") ? jsonNode.get("message").asText() : "Failed to fetch courts";
@@ -141,7 +213,7 @@ public class ApiService {
             if (jsonNode.has("data") && jsonNode.get("data").has("courts")) {
                 JsonNode courtsArray = jsonNode.get("data").get("courts");
                 for (JsonNode courtNode : courtsArray) {
-                    courts.add(objectMapper.treeToValue(courtNode, Court.class));
+                    courts.add(COURT_READER.readValue(courtNode));
                 }
             }
 
@@ -149,8 +221,8 @@ public class ApiService {
         }
     }
 
-    public List<Booking> getAllBookings(Integer courtId, String status) throws IOException, ApiException {
-        HttpUrl.Builder urlBuilder = HttpUrl.parse(API_BASE_URL + "/courts/bookings").newBuilder();
+    private HttpUrl bookingsUrl(Integer courtId, String status) {
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(apiBaseUrl + "/courts/bookings").newBuilder();
         
         if (courtId != null) {
             urlBuilder.addQueryParameter("courtId", courtId.toString());
@@ -158,63 +230,260 @@ public class ApiService {
         if (status != null && !status.equals("ALL")) {
             urlBuilder.addQueryParameter("status", status);
         }
+        return urlBuilder.build();
+    }
+
+    public List<Booking> getAllBookings(Integer courtId, String status) throws IOException, ApiException {
+        List<Booking> bookings = new ArrayList<>();
+        streamBookings(courtId, status, bookings::add);
+        debug("getAllBookings decoded " + bookings.size() + " bookings");
+        return bookings;
+    }
+
+    /**
+     * Receives one court's bookings from {@link #getAllBookingsFanOut} as soon
+     * as that court's request completes. Called on the fetching threads.
+     */
+    public interface CourtBookingsHandler {
+        void handle(Court court, List<Booking> bookings);
+    }
+
+    /**
+     * Like {@link #getAllBookings} for all courts, but with one request per
+     * court, at most maxConcurrent (and at least one) in flight, so the server
+     * and the decoding work in parallel. The per-court lists are merged into
+     * the single request's order, newest start first. Only bookings of the
+     * given courts are fetched. The handler, if any, sees each court's
+     * bookings as they arrive.
+     */
+    public List<Booking> getAllBookingsFanOut(List<Court> courts, String status, int maxConcurrent,
+                                              CourtBookingsHandler handler) throws IOException, ApiException {
+        // Without a permit no request would ever start
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrent));
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<List<Booking>>> futures = new ArrayList<>();
+            for (Court court : courts) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        List<Booking> bookings = getAllBookings(court.id(), status);
+                        // The merge needs each list in order; the API already sends them so
+                        if (!isNewestFirst(bookings)) {
+                            bookings.sort(NEWEST_FIRST);
+                        }
+                        if (handler != null) {
+                            handler.handle(court, bookings);
+                        }
+                        return bookings;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<List<Booking>> perCourt = new ArrayList<>();
+            for (Future<List<Booking>> future : futures) {
+                perCourt.add(future.get());
+            }
+            debug("getAllBookingsFanOut fetched " + courts.size() + " courts");
+            return mergeNewestFirst(perCourt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching bookings", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof ApiException api) throw api;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new IOException(cause);
+        } finally {
+            // Stops the remaining courts' requests after a failure
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * K-way merge of lists that are each newest start first, ties by id
+     * descending, into one list in the same order.
+     */
+    public static List<Booking> mergeNewestFirst(List<List<Booking>> lists) {
+        int size = 0;
+        for (List<Booking> list : lists) {
+            size += list.size();
+        }
+        List<Booking> merged = new ArrayList<>(size);
+        int[] positions = new int[lists.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                (a, b) -> NEWEST_FIRST.compare(lists.get(a).get(positions[a]), lists.get(b).get(positions[b])));
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isEmpty()) {
+                heads.add(i);
+            }
+        }
+        while (!heads.isEmpty()) {
+            int list = heads.poll();
+            merged.add(lists.get(list).get(positions[list]++));
+            if (positions[list] < lists.get(list).size()) {
+                heads.add(list);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isNewestFirst(List<Booking> bookings) {
+        for (int i = 1; i < bookings.size(); i++) {
+            if (NEWEST_FIRST.compare(bookings.get(i - 1), bookings.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Receives bookings one at a time from {@link #streamBookings}.
+     */
+    public interface BookingHandler {
+        void handle(Booking booking) throws IOException;
+    }
 
+    /**
+     * Like {@link #getAllBookings} but hands each booking to the handler as
+     * soon as it is decoded, so memory use does not grow with the number of
+     * bookings. Returns the number of bookings handled.
+     */
+    public long streamBookings(Integer courtId, String status, BookingHandler handler) throws IOException, ApiException {
         Request request = createAuthenticatedRequestBuilder()
-                .url(urlBuilder.build())
+                .url(bookingsUrl(courtId, status))
                 .get()
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
-            String responseBody = response.body().string();
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
-            
-            System.out.println("getAllBookings response: " + responseBody);
+            if (!response.isSuccessful()) {
+                JsonNode jsonNode = OBJECT_MAPPER.readTree(response.body().string());
+                String message = jsonNode.has("message") ? jsonNode.get("message").asText() : "Failed to fetch bookings";
+                throw new ApiException(message, response.code());
+            }
+
+            return readBookings(response.body().byteStream(), handler);
+        }
+    }
+
+    /**
+     * Decodes the bookings array of a {@code {"data":{"bookings":[...]}}}
+     * response body. Package-private so the decode benchmark can drive it.
+     */
+    static long readBookings(InputStream body, BookingHandler handler) throws IOException {
+        long count = 0;
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT || !moveToField(parser, "data")
+                    || parser.nextToken() != JsonToken.START_OBJECT || !moveToField(parser, "bookings")
+                    || parser.nextToken() != JsonToken.START_ARRAY) {
+                return 0;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                handler.handle(BOOKING_READER.readValue(parser));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * One page of the paginated bookings list. The next page starts after
+     * nextCursor, which is null on the last page. Total is only counted for
+     * a request without a cursor, otherwise it is -1.
+     */
+    public record BookingPage(List<Booking> bookings, String nextCursor, int total) {}
+
+    /**
+     * Fetches limit bookings after the cursor (null for the start of the
+     * list), first skipping skip rows. Used to page through lists too large to
+     * fetch at once; the endpoint returns bookings newest first.
+     */
+    public BookingPage getBookingsPage(Integer courtId, String status, String cursor, int skip, int limit)
+            throws IOException, ApiException {
+        HttpUrl.Builder urlBuilder = bookingsUrl(courtId, status).newBuilder()
+                .addQueryParameter("limit", String.valueOf(limit));
+        if (cursor != null) {
+            urlBuilder.addQueryParameter("cursor", cursor);
+        }
+        if (skip > 0) {
+            urlBuilder.addQueryParameter("skip", String.valueOf(skip));
+        }
+        Request request = createAuthenticatedRequestBuilder()
+                .url(urlBuilder.build())
+                .get()
+                .build();
 
+        try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
+                JsonNode jsonNode = OBJECT_MAPPER.readTree(response.body().string());
                 String message = jsonNode.has("message") ? jsonNode.get("message").asText() : "Failed to fetch bookings";
                 throw new ApiException(message, response.code());
             }
 
-            List<Booking> bookings = new ArrayList<>();
-            if (jsonNode.has("data") && jsonNode.get("data").has("bookings")) {
-                JsonNode bookingsArray = jsonNode.get("data").get("bookings");
-                for (JsonNode bookingNode : bookingsArray) {
-                    Booking booking = objectMapper.treeToValue(bookingNode, Booking.class);
-                    
-                    // Parse user and court information
-                    if (bookingNode.has("user")) {
-                        User user = objectMapper.treeToValue(bookingNode.get("user"), User.class);
-                        booking.setUser(user);
-                    }
-                    if (bookingNode.has("court")) {
-                        Court court = objectMapper.treeToValue(bookingNode.get("court"), Court.class);
-                        booking.setCourt(court);
+            return readBookingPage(response.body().byteStream());
+        }
+    }
+
+    // Decodes {"data":{"bookings":[...],"nextCursor":...,"total":...}} in any field order
+    private static BookingPage readBookingPage(InputStream body) throws IOException {
+        List<Booking> bookings = new ArrayList<>();
+        String nextCursor = null;
+        int total = -1;
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT || !moveToField(parser, "data")
+                    || parser.nextToken() != JsonToken.START_OBJECT) {
+                return new BookingPage(bookings, null, total);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (field.equals("bookings") && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        bookings.add(BOOKING_READER.readValue(parser));
                     }
-                    
-                    bookings.add(booking);
+                } else if (field.equals("nextCursor") && token == JsonToken.VALUE_STRING) {
+                    nextCursor = parser.getText();
+                } else if (field.equals("total") && token == JsonToken.VALUE_NUMBER_INT) {
+                    total = parser.getIntValue();
+                } else {
+                    parser.skipChildren();
                 }
             }
+        }
+        return new BookingPage(bookings, nextCursor, total);
+    }
 
-            return bookings;
+    // Advances through the current object until the named field, skipping other values
+    private static boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (name.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
         }
+        return false;
     }
 
-    public void updateBookingStatus(int bookingId, String newStatus) throws IOException, ApiException {
-        String json = String.format("{\"status\":\"%s\"}", newStatus);
+    public void updateBookingStatus(int bookingId, BookingStatus newStatus) throws IOException, ApiException {
+        String json = String.format("{\"status\":\"%s\"}", newStatus.name());
         RequestBody body = RequestBody.create(json, MediaType.get("application/json"));
 
         Request request = createAuthenticatedRequestBuilder()
-                .url(API_BASE_URL + "/courts/bookings/" + bookingId)
+                .url(apiBaseUrl + "/courts/bookings/" + bookingId)
                 .put(body)
                 .addHeader("Content-Type", "application/json")
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
             String responseBody = response.body().string();
-            System.out.println("updateBookingStatus response: " + responseBody);
+            debug("updateBookingStatus response: ", responseBody);
             
             if (!response.isSuccessful()) {
-                JsonNode jsonNode = objectMapper.readTree(responseBody);
+                JsonNode jsonNode = OBJECT_MAPPER.readTree(responseBody);
                 String message = jsonNode.has("message") ? jsonNode.get("message").asText() : "Failed to update booking";
                 throw new ApiException(message, response.code());
             }
@@ -223,15 +492,17 @@ public class ApiService {
 
     public void logout() throws IOException, ApiException {
         Request request = createAuthenticatedRequestBuilder()
-                .url(API_BASE_URL + "/auth/logout")
+                .url(apiBaseUrl + "/auth/logout")
                 .post(RequestBody.create("", MediaType.get("application/json")))
                 .build();
 
         try (Response response = client.newCall(request).execute()) {
-            // Clear the auth token regardless of response
-            this.authToken = null;
             // Don't throw exception even if logout fails on server side
             // Just clear local session
+        } finally {
+            // Clear the auth token and cookies regardless of response
+            this.authToken.set(null);
+            ((SimpleCookieJar) client.cookieJar()).clear();
         }
     }
 
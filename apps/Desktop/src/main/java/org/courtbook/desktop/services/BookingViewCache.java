@@ -0,0 +1,158 @@
+package org.courtbook.desktop.services;
+
+import org.courtbook.desktop.models.Booking;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking lists by filter view, so switching back to a recently seen or
+ * prefetched view needs no network load. Entries expire after a fixed time to
+ * live and the least recently used ones are evicted once the cached lists hold
+ * more than a maximum number of bookings in total. Counts hits and misses, and
+ * how many prefetched entries were eventually used.
+ * Callers take the {@link #epoch()} before fetching and pass it to
+ * {@link #put}, so a fetch that was in flight when the cache was cleared does
+ * not bring back the rows the clear was meant to drop.
+ */
+public class BookingViewCache {
+    /** A court filter (null for all courts) and status filter ("ALL" for any). */
+    public record View(Integer courtId, String status) {}
+
+    public record Stats(int views, int bookings, long hits, long misses, long expired, long evicted,
+                        long prefetched, long prefetchHits) {
+        public double hitRate() {
+            return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+    }
+
+    private static class Entry {
+        final List<Booking> bookings;
+        final long storedAt;
+        boolean prefetched; // cleared on its first hit
+
+        Entry(List<Booking> bookings, long storedAt, boolean prefetched) {
+            this.bookings = bookings;
+            this.storedAt = storedAt;
+            this.prefetched = prefetched;
+        }
+    }
+
+    private final long ttlMillis;
+    private final int maxBookings;
+    private final LinkedHashMap<View, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int bookingCount;
+    private long epoch;
+    private long hits;
+    private long misses;
+    private long expired;
+    private long evicted;
+    private long prefetched;
+    private long prefetchHits;
+
+    public BookingViewCache(long ttlMillis, int maxBookings) {
+        this.ttlMillis = ttlMillis;
+        this.maxBookings = maxBookings;
+    }
+
+    /**
+     * The cached list for the view, or null if there is none or it expired.
+     */
+    public synchronized List<Booking> get(View view) {
+        Entry entry = entries.get(view);
+        if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+            remove(view);
+            expired++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        if (entry.prefetched) {
+            entry.prefetched = false;
+            prefetchHits++;
+        }
+        return entry.bookings;
+    }
+
+    /**
+     * True if the view has an entry that has not expired, without counting a
+     * hit or miss.
+     */
+    public synchronized boolean contains(View view) {
+        Entry entry = entries.get(view);
+        return entry != null && !isExpired(entry, System.currentTimeMillis());
+    }
+
+    public synchronized long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Stores a fetched list, unless the cache was cleared since the given epoch
+     * or the list alone is over the size bound.
+     */
+    public synchronized void put(View view, List<Booking> bookings, boolean prefetch, long fetchEpoch) {
+        if (fetchEpoch != epoch) {
+            return;
+        }
+        remove(view);
+        if (bookings.size() > maxBookings) {
+            return;
+        }
+        entries.put(view, new Entry(List.copyOf(bookings), System.currentTimeMillis(), prefetch));
+        bookingCount += bookings.size();
+        if (prefetch) {
+            prefetched++;
+        }
+        evict();
+    }
+
+    /**
+     * Drops every entry, for when bookings changed on the server.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bookingCount = 0;
+        epoch++;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), bookingCount, hits, misses, expired, evicted, prefetched, prefetchHits);
+    }
+
+    // Expired entries first, then least recently used until under the size bound
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<View, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            boolean stale = isExpired(entry, now);
+            if (!stale && bookingCount <= maxBookings) {
+                continue;
+            }
+            iterator.remove();
+            bookingCount -= entry.bookings.size();
+            if (stale) {
+                expired++;
+            } else {
+                evicted++;
+            }
+        }
+    }
+
+    private void remove(View view) {
+        Entry entry = entries.remove(view);
+        if (entry != null) {
+            bookingCount -= entry.bookings.size();
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.storedAt > ttlMillis;
+    }
+}
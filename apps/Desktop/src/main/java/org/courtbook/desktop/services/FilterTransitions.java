@@ -0,0 +1,136 @@
+package org.courtbook.desktop.services;
+
+import org.courtbook.desktop.services.BookingViewCache.View;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How often the admin at this station has gone from one filter view to
+ * another, used to guess which views to prefetch next.
+ * Counts are kept in a small tab-separated file per host name, so a home
+ * directory shared between stations keeps each station's habits apart. Once
+ * the transitions out of a view add up to {@link #MAX_TOTAL}, its counts are
+ * halved so that a changed routine takes over from an old one.
+ */
+public class FilterTransitions {
+    private static final int MAX_TOTAL = 1000;
+    private static final String ALL_COURTS = "*";
+
+    private final Path file;
+    private final Map<View, Map<View, Integer>> counts = new HashMap<>();
+
+    public FilterTransitions(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length != 5) {
+                    continue;
+                }
+                try {
+                    View from = new View(parseCourt(fields[0]), fields[1]);
+                    View to = new View(parseCourt(fields[2]), fields[3]);
+                    counts.computeIfAbsent(from, k -> new HashMap<>()).put(to, Integer.parseInt(fields[4]));
+                } catch (NumberFormatException e) {
+                    // Skip a damaged line, the rest is still usable
+                }
+            }
+        }
+    }
+
+    /**
+     * Default location in the user's home directory, named after this host.
+     * Looking up the host name can block, call this off the EDT.
+     */
+    public static Path defaultFile() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName().replaceAll("[^A-Za-z0-9.-]", "_");
+        } catch (IOException e) {
+            host = "local";
+        }
+        return Path.of(System.getProperty("user.home"), ".courtbook", "prefetch", "transitions-" + host + ".tsv");
+    }
+
+    public synchronized void record(View from, View to) {
+        if (from.equals(to)) {
+            return;
+        }
+        Map<View, Integer> next = counts.computeIfAbsent(from, k -> new HashMap<>());
+        next.merge(to, 1, Integer::sum);
+        int total = 0;
+        for (int count : next.values()) {
+            total += count;
+        }
+        if (total >= MAX_TOTAL) {
+            next.replaceAll((view, count) -> count / 2);
+            next.values().removeIf(count -> count == 0);
+        }
+    }
+
+    /**
+     * The views most often chosen after the given one, most likely first.
+     * Only views that followed it at least {@code minShare} of the time count.
+     */
+    public synchronized List<View> predict(View from, int limit, double minShare) {
+        Map<View, Integer> next = counts.get(from);
+        if (next == null) {
+            return List.of();
+        }
+        int total = 0;
+        for (int count : next.values()) {
+            total += count;
+        }
+        List<Map.Entry<View, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<View, Integer> entry : next.entrySet()) {
+            if (entry.getValue() >= minShare * total) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+
+        List<View> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, candidates.size()); i++) {
+            result.add(candidates.get(i).getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Writes the counts to a temporary file and moves it over the old one, so
+     * a crash mid-write leaves the previous counts intact.
+     */
+    public void save() throws IOException {
+        StringBuilder text = new StringBuilder();
+        synchronized (this) {
+            for (Map.Entry<View, Map<View, Integer>> from : counts.entrySet()) {
+                for (Map.Entry<View, Integer> to : from.getValue().entrySet()) {
+                    text.append(formatCourt(from.getKey().courtId())).append('\t').append(from.getKey().status()).append('\t')
+                            .append(formatCourt(to.getKey().courtId())).append('\t').append(to.getKey().status()).append('\t')
+                            .append(to.getValue()).append('\n');
+                }
+            }
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, text, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Integer parseCourt(String field) {
+        return ALL_COURTS.equals(field) ? null : Integer.valueOf(field);
+    }
+
+    private static String formatCourt(Integer courtId) {
+        return courtId == null ? ALL_COURTS : courtId.toString();
+    }
+}
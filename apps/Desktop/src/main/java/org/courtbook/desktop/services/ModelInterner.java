@@ -0,0 +1,95 @@
+package org.courtbook.desktop.services;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances of equal immutable model records. Every booking in a
+ * response carries its own copy of its user and court; interning them at
+ * decode time leaves one instance per distinct user and court, shared by all
+ * bookings and by every session in the process. Instances are held weakly and
+ * dropped once no booking refers to them.
+ */
+public final class ModelInterner {
+    private static final ModelInterner SHARED = new ModelInterner();
+
+    // Each entry is its own key; decoders on many threads intern at once, so no global lock
+    private final ConcurrentHashMap<Entry, Entry> instances = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private ModelInterner() {
+    }
+
+    public static ModelInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * The canonical instance equal to value, which becomes canonical itself if
+     * there was none. Null is returned as is.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        expungeCollected();
+        Entry entry = new Entry(value, collected);
+        while (true) {
+            Entry existing = instances.putIfAbsent(entry, entry);
+            if (existing == null) {
+                return value;
+            }
+            Object canonical = existing.get();
+            if (canonical != null) {
+                return (T) canonical;
+            }
+            // Collected after the lookup matched it, replace it
+            instances.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Number of canonical instances currently held.
+     */
+    public int size() {
+        expungeCollected();
+        return instances.size();
+    }
+
+    private void expungeCollected() {
+        Reference<?> ref;
+        while ((ref = collected.poll()) != null) {
+            instances.remove(ref, ref);
+        }
+    }
+
+    // Weak reference that equals any other entry whose value is equal; a cleared entry equals only itself
+    private static final class Entry extends WeakReference<Object> {
+        private final int hash;
+
+        Entry(Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Entry entry) || hash != entry.hash) {
+                return false;
+            }
+            Object value = get();
+            return value != null && value.equals(entry.get());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.courtbook.desktop.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
+import org.courtbook.desktop.models.Court;
+import org.courtbook.desktop.models.CourtStatus;
+import org.courtbook.desktop.models.Role;
+import org.courtbook.desktop.models.User;
+
+import java.io.IOException;
+
+/**
+ * Hand-written deserializers for the model records. They read fields straight
+ * off the token stream, so decoding a booking builds no intermediate JsonNode
+ * tree and needs no reflection. Unknown fields are skipped and unknown enum
+ * names decode as null, matching {@code @JsonIgnoreProperties(ignoreUnknown = true)}.
+ * Users and courts are interned through {@link ModelInterner}, so the copies
+ * embedded in every booking collapse to one instance each.
+ */
+public class ModelModule extends SimpleModule {
+
+    public ModelModule() {
+        super("CourtBookModels");
+        addDeserializer(Booking.class, new BookingDeserializer());
+        addDeserializer(User.class, new UserDeserializer());
+        addDeserializer(Court.class, new CourtDeserializer());
+    }
+
+    static class BookingDeserializer extends StdDeserializer<Booking> {
+        BookingDeserializer() {
+            super(Booking.class);
+        }
+
+        @Override
+        public Booking deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            int id = 0;
+            int userId = 0;
+            int courtId = 0;
+            long start = Booking.INVALID_TIME;
+            long end = Booking.INVALID_TIME;
+            long created = Booking.INVALID_TIME;
+            BookingStatus status = null;
+            User user = null;
+            Court court = null;
+
+            for (String field = firstField(parser); field != null; field = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getValueAsInt();
+                    case "userId" -> userId = parser.getValueAsInt();
+                    case "courtId" -> courtId = parser.getValueAsInt();
+                    case "startTime" -> start = Booking.parseTime(text(parser, token));
+                    case "endTime" -> end = Booking.parseTime(text(parser, token));
+                    case "createdAt" -> created = Booking.parseTime(text(parser, token));
+                    case "status" -> status = BookingStatus.fromName(text(parser, token));
+                    case "user" -> user = token == JsonToken.START_OBJECT ? UserDeserializer.read(parser) : null;
+                    case "court" -> court = token == JsonToken.START_OBJECT ? CourtDeserializer.read(parser) : null;
+                    default -> parser.skipChildren();
+                }
+            }
+            return new Booking(id, userId, courtId, start, end, created, status, user, court);
+        }
+    }
+
+    static class UserDeserializer extends StdDeserializer<User> {
+        UserDeserializer() {
+            super(User.class);
+        }
+
+        @Override
+        public User deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return read(parser);
+        }
+
+        static User read(JsonParser parser) throws IOException {
+            int id = 0;
+            String name = null;
+            String email = null;
+            Role role = null;
+            for (String field = firstField(parser); field != null; field = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getValueAsInt();
+                    case "name" -> name = text(parser, token);
+                    case "email" -> email = text(parser, token);
+                    case "role" -> role = Role.fromName(text(parser, token));
+                    default -> parser.skipChildren();
+                }
+            }
+            return ModelInterner.shared().intern(new User(id, name, email, role));
+        }
+    }
+
+    static class CourtDeserializer extends StdDeserializer<Court> {
+        CourtDeserializer() {
+            super(Court.class);
+        }
+
+        @Override
+        public Court deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return read(parser);
+        }
+
+        static Court read(JsonParser parser) throws IOException {
+            int id = 0;
+            String name = null;
+            String location = null;
+            CourtStatus status = null;
+            for (String field = firstField(parser); field != null; field = parser.nextFieldName()) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getValueAsInt();
+                    case "name" -> name = text(parser, token);
+                    case "location" -> location = text(parser, token);
+                    case "status" -> status = CourtStatus.fromName(text(parser, token));
+                    default -> parser.skipChildren();
+                }
+            }
+            return ModelInterner.shared().intern(new Court(id, name, location, status));
+        }
+    }
+
+    // Jackson may hand over an object at its START_OBJECT or at its first field
+    private static String firstField(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return parser.nextFieldName();
+        }
+        if (token == JsonToken.FIELD_NAME) {
+            return parser.currentName();
+        }
+        if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        throw JsonMappingException.from(parser, "Expected a JSON object but found " + token);
+    }
+
+    // Scalar text of the current value; null for JSON null or a nested structure
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+}
@@ -0,0 +1,224 @@
+package org.courtbook.desktop.services;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs ApiService calls by priority class so admin actions are not stuck
+ * behind large background fetches.
+ * Each class has its own concurrency limit. Queued work is always started in
+ * priority order, and background work is held back entirely while any
+ * interactive call is queued or running. Queue wait times are tracked per class.
+ * {@link #newSession()} gives each admin session a view of the same scheduler:
+ * interactive and visible limits stay shared by the whole process, while the
+ * background limit applies per session, so one window's export does not hold
+ * up another window's prefetches.
+ */
+public class RequestScheduler {
+    public enum Priority {
+        INTERACTIVE(4),  // confirm/cancel and other admin mutations
+        VISIBLE(2),      // reads for what is on screen
+        BACKGROUND(1);   // prefetch, exports, sync
+
+        private final int maxConcurrent;
+
+        Priority(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    /**
+     * An ApiService call, allowed to throw the service's checked exceptions.
+     */
+    public interface ApiCall<T> {
+        T call() throws IOException, ApiService.ApiException;
+    }
+
+    public record QueueStats(Priority priority, int queued, int running, long completed,
+                             double averageWaitMillis, double maxWaitMillis) {}
+
+    // Shared with every session view; all state is guarded by queues
+    private final ExecutorService executor;
+    private final Map<Priority, ArrayDeque<Task<?>>> queues;
+    private final Map<Priority, Stats> stats;
+    private final Map<RequestScheduler, Integer> backgroundRunning; // per session view
+
+    public RequestScheduler() {
+        this.queues = new EnumMap<>(Priority.class);
+        this.stats = new EnumMap<>(Priority.class);
+        this.backgroundRunning = new HashMap<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "request-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            stats.put(priority, new Stats());
+        }
+    }
+
+    private RequestScheduler(RequestScheduler shared) {
+        this.executor = shared.executor;
+        this.queues = shared.queues;
+        this.stats = shared.stats;
+        this.backgroundRunning = shared.backgroundRunning;
+    }
+
+    /**
+     * A view of this scheduler with a background budget of its own, for one
+     * session. Stats are those of the whole scheduler.
+     */
+    public RequestScheduler newSession() {
+        return new RequestScheduler(this);
+    }
+
+    public <T> Future<T> submit(Priority priority, Callable<T> callable) {
+        Task<T> task = new Task<>(priority, callable, this);
+        synchronized (queues) {
+            queues.get(priority).add(task);
+            dispatch();
+        }
+        return task;
+    }
+
+    /**
+     * Submits the call and waits for it, rethrowing the call's own exception.
+     */
+    public <T> T call(Priority priority, ApiCall<T> call) throws IOException, ApiService.ApiException {
+        Future<T> future = submit(priority, call::call);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + priority + " request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof ApiService.ApiException api) throw api;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new IOException(cause);
+        }
+    }
+
+    public List<QueueStats> stats() {
+        synchronized (queues) {
+            return collectStats();
+        }
+    }
+
+    private List<QueueStats> collectStats() {
+        List<QueueStats> result = new ArrayList<>();
+        for (Priority priority : Priority.values()) {
+            Stats s = stats.get(priority);
+            result.add(new QueueStats(priority, queues.get(priority).size(), s.running, s.completed,
+                    s.started > 0 ? s.totalWaitNanos / 1e6 / s.started : 0,
+                    s.maxWaitNanos / 1e6));
+        }
+        return result;
+    }
+
+    // Must hold the lock
+    private void dispatch() {
+        for (Priority priority : Priority.values()) {
+            ArrayDeque<Task<?>> queue = queues.get(priority);
+            if (priority == Priority.BACKGROUND) {
+                dispatchBackground(queue);
+                continue;
+            }
+            Stats s = stats.get(priority);
+            while (!queue.isEmpty() && s.running < priority.maxConcurrent) {
+                Task<?> task = queue.poll();
+                if (!task.isCancelled()) {
+                    start(task);
+                }
+            }
+        }
+    }
+
+    // In queue order, skipping the tasks of sessions that have no background slot free
+    private void dispatchBackground(ArrayDeque<Task<?>> queue) {
+        if (!mayStartBackground()) {
+            return;
+        }
+        Iterator<Task<?>> tasks = queue.iterator();
+        while (tasks.hasNext()) {
+            Task<?> task = tasks.next();
+            if (task.isCancelled()) {
+                tasks.remove();
+            } else if (backgroundRunning.getOrDefault(task.session, 0) < Priority.BACKGROUND.maxConcurrent) {
+                tasks.remove();
+                backgroundRunning.merge(task.session, 1, Integer::sum);
+                start(task);
+            }
+        }
+    }
+
+    private void start(Task<?> task) {
+        Stats s = stats.get(task.priority);
+        long waited = System.nanoTime() - task.enqueuedAt;
+        s.running++;
+        s.started++;
+        s.totalWaitNanos += waited;
+        s.maxWaitNanos = Math.max(s.maxWaitNanos, waited);
+        executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                finished(task);
+            }
+        });
+    }
+
+    // Background work is deferred while any interactive call is pending
+    private boolean mayStartBackground() {
+        return stats.get(Priority.INTERACTIVE).running == 0 && queues.get(Priority.INTERACTIVE).isEmpty();
+    }
+
+    private void finished(Task<?> task) {
+        synchronized (queues) {
+            Stats s = stats.get(task.priority);
+            s.running--;
+            s.completed++;
+            if (task.priority == Priority.BACKGROUND) {
+                backgroundRunning.merge(task.session, -1, (running, one) -> running + one == 0 ? null : running + one);
+            }
+            dispatch();
+        }
+    }
+
+    private static class Stats {
+        private int running;
+        private long started;
+        private long completed;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+    }
+
+    private static class Task<T> extends FutureTask<T> {
+        private final Priority priority;
+        private final RequestScheduler session;
+        private final long enqueuedAt = System.nanoTime();
+
+        Task(Priority priority, Callable<T> callable, RequestScheduler session) {
+            super(callable);
+            this.priority = priority;
+            this.session = session;
+        }
+    }
+}
@@ -1,38 +1,137 @@
 package org.courtbook.desktop.ui;
 
+import org.courtbook.desktop.archive.BookingArchive;
+import org.courtbook.desktop.diagnostics.UiWatchdog;
+import org.courtbook.desktop.export.BookingWriter;
+import org.courtbook.desktop.export.ColumnarBookingWriter;
+import org.courtbook.desktop.export.CsvBookingWriter;
+import org.courtbook.desktop.index.BookingIntervalIndex;
+import org.courtbook.desktop.index.BookingSearchIndex;
+import org.courtbook.desktop.index.BookingSorter;
+import org.courtbook.desktop.index.BookingSorter.Grouping;
+import org.courtbook.desktop.index.BookingSorter.Ordering;
+import org.courtbook.desktop.index.BookingSorter.SortKey;
 import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.BookingStatus;
 import org.courtbook.desktop.models.Court;
 import org.courtbook.desktop.models.User;
 import org.courtbook.desktop.services.ApiService;
+import org.courtbook.desktop.services.BookingViewCache;
+import org.courtbook.desktop.services.BookingViewCache.View;
+import org.courtbook.desktop.services.FilterTransitions;
+import org.courtbook.desktop.services.RequestScheduler;
+import org.courtbook.desktop.services.RequestScheduler.Priority;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.IntPredicate;
 
 public class AdminPanel extends JFrame {
+    private static final Color CONFLICT_COLOR = new Color(255, 200, 150);
+    private static final Color GROUP_COLOR = new Color(230, 230, 240);
+    private static final Color CHANGED_COLOR = new Color(255, 250, 180);
+    private static final int CHANGED_HIGHLIGHT_MILLIS = 1500;
+    // Bookings that ended longer ago than this move to the local archive
+    private static final long ARCHIVE_AFTER_MILLIS = 90L * 24 * 60 * 60 * 1000;
+    // With "All Courts", fetch per court with this many requests in flight (-Dcourtbook.fanOut=N);
+    // off by default, it only pays off with spare client cores or row-bound server time
+    private static final int FAN_OUT_CONCURRENCY = Integer.getInteger("courtbook.fanOut", 0);
+    // Filter views are served from memory for this long after they were fetched
+    private static final long VIEW_TTL_MILLIS = 2 * 60 * 1000;
+    private static final int VIEW_CACHE_BOOKINGS = 200_000;
+    // After a load, wait this long for the UI to settle before prefetching likely next views
+    private static final int PREFETCH_IDLE_MILLIS = 1500;
+    private static final int PREFETCH_VIEWS = 2;
+    private static final double PREFETCH_MIN_SHARE = 0.2;
+
     private ApiService apiService;
+    private final SessionManager sessions;
+    private final RequestScheduler scheduler; // shared by all sessions, with a background budget of its own
     private User currentUser;
     private JTable bookingsTable;
     private BookingsTableModel tableModel;
     private JComboBox<CourtOption> courtFilter;
     private JComboBox<String> statusFilter;
+    private JComboBox<String> groupBy;
+    private JTextField searchField;
     private JButton refreshButton;
     private JButton logoutButton;
+    private JButton newSessionButton;
+    private JButton exportButton;
+    private JButton historyButton;
+    private JButton diagnosticsButton;
+    private JButton cancelExportButton;
+    private JProgressBar exportProgress;
+    private SwingWorker<Long, Long> exportWorker;
     private JLabel statusLabel;
+    private AnalyticsPanel analyticsPanel;
+    private TimelinePanel timelinePanel;
+    private BookingBrowserPanel browserPanel;
 
     private List<Court> courts;
     private List<Booking> bookings;
+    private List<Booking> visibleBookings; // bookings matching the search box
+    private Ordering ordering; // sorted, grouped view of visibleBookings
+    private int[] rows; // table row to visibleBookings index, or -1 - group for a group header
+    private final List<SortKey> sortKeys = new ArrayList<>();
+    private final Set<String> collapsedGroups = new HashSet<>();
+    private int sortGeneration; // drops sort results overtaken by a newer sort
+    private final Map<String, Integer> groupKeys = new HashMap<>(); // stable row keys for group headers
+    private final Set<Integer> changedIds = new HashSet<>(); // highlighted after a refresh
+    private final Timer changedTimer = new Timer(CHANGED_HIGHLIGHT_MILLIS, e -> {
+        changedIds.clear();
+        bookingsTable.repaint(bookingsTable.getVisibleRect());
+    });
+    private final BookingSearchIndex searchIndex = new BookingSearchIndex();
+    private final BookingIntervalIndex intervalIndex = new BookingIntervalIndex();
+    private Set<Integer> conflictingIds = new HashSet<>(); // overlap a confirmed booking
+    private volatile BookingArchive archive; // null until opened, or if it can't be
+    private int archivedCount;
+    private final BookingViewCache viewCache = new BookingViewCache(VIEW_TTL_MILLIS, VIEW_CACHE_BOOKINGS);
+    private volatile FilterTransitions transitions; // null until opened, or if it can't be
+    private View currentView;
+    private volatile int loadGeneration; // drops the results of loads superseded by a newer one
+    private final List<Future<?>> prefetches = new ArrayList<>();
+    private final Timer prefetchTimer = new Timer(PREFETCH_IDLE_MILLIS, e -> prefetchLikelyViews());
 
-    public AdminPanel(ApiService apiService, User user) {
+    public AdminPanel(ApiService apiService, User user, SessionManager sessions) {
         this.apiService = apiService;
         this.currentUser = user;
+        this.sessions = sessions;
+        this.scheduler = sessions.newSessionScheduler();
         this.courts = new ArrayList<>();
         this.bookings = new ArrayList<>();
+        this.visibleBookings = bookings;
+        this.ordering = Ordering.identity(0);
+        this.rows = ordering.order();
+        changedTimer.setRepeats(false);
+        prefetchTimer.setRepeats(false);
         
         initializeComponents();
         setupLayout();
@@ -41,12 +140,29 @@ public class AdminPanel extends JFrame {
     }
 
     private void initializeComponents() {
-        setTitle("CourtBook Admin Panel - " + currentUser.getName());
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setTitle("CourtBook Admin Panel - " + currentUser.name());
+        // Closing one session leaves the others open, see windowClosed
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         
         // Table
         tableModel = new BookingsTableModel();
-        bookingsTable = new JTable(tableModel);
+        bookingsTable = new JTable(tableModel) {
+            @Override
+            public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
+                Component component = super.prepareRenderer(renderer, row, column);
+                Booking booking = bookingAt(convertRowIndexToModel(row));
+                if (booking == null) {
+                    component.setBackground(GROUP_COLOR);
+                    component.setFont(component.getFont().deriveFont(Font.BOLD));
+                } else if (!isRowSelected(row) && column != 5) {
+                    // Tint just-changed rows and rows that overlap a confirmed booking,
+                    // leaving the status colours alone
+                    component.setBackground(changedIds.contains(booking.id()) ? CHANGED_COLOR
+                            : conflictingIds.contains(booking.id()) ? CONFLICT_COLOR : getBackground());
+                }
+                return component;
+            }
+        };
         setupTable();
         
         // Filters
@@ -55,13 +171,60 @@ public class AdminPanel extends JFrame {
         
         statusFilter = new JComboBox<>(new String[]{"ALL", "PENDING", "CONFIRMED", "CANCELLED"});
         statusFilter.setSelectedItem("ALL");
+
+        // Grouping, in Grouping order
+        groupBy = new JComboBox<>(new String[]{"None", "Court", "Day"});
+
+        // Search
+        searchField = new JTextField(18);
+        searchField.setToolTipText("Search by user name, email or #id");
         
         // Buttons
         refreshButton = new JButton("Refresh");
         logoutButton = new JButton("Logout");
+        newSessionButton = new JButton("New Session...");
+        newSessionButton.setToolTipText("Log in to another venue or account in a new window");
+        exportButton = new JButton("Export...");
+        historyButton = new JButton("History...");
+        historyButton.setEnabled(false);
+        diagnosticsButton = new JButton("Diagnostics...");
+        diagnosticsButton.setVisible(UiWatchdog.get() != null);
+        cancelExportButton = new JButton("Cancel Export");
+        cancelExportButton.setVisible(false);
+
+        // Export progress, row count is unknown up front
+        exportProgress = new JProgressBar();
+        exportProgress.setIndeterminate(true);
+        exportProgress.setVisible(false);
         
-        // Status label
-        statusLabel = new JLabel("Loading...");
+        // Status label, hovering shows request queue and view cache metrics
+        statusLabel = new JLabel("Loading...") {
+            @Override
+            public String getToolTipText() {
+                StringBuilder text = new StringBuilder("<html>");
+                for (RequestScheduler.QueueStats stats : scheduler.stats()) {
+                    text.append(String.format("%s: %d queued, %d running, %d done, wait avg %.1f ms / max %.1f ms<br>",
+                            stats.priority(), stats.queued(), stats.running(), stats.completed(),
+                            stats.averageWaitMillis(), stats.maxWaitMillis()));
+                }
+                BookingViewCache.Stats cache = viewCache.stats();
+                text.append(String.format("View cache: %d views, %d bookings, hit rate %.0f%% (%d hits, %d misses), "
+                                + "%d of %d prefetched views used, %d expired, %d evicted",
+                        cache.views(), cache.bookings(), cache.hitRate() * 100, cache.hits(), cache.misses(),
+                        cache.prefetchHits(), cache.prefetched(), cache.expired(), cache.evicted()));
+                return text.append("</html>").toString();
+            }
+        };
+        statusLabel.setToolTipText("");
+
+        // Analytics
+        analyticsPanel = new AnalyticsPanel();
+
+        // Timeline
+        timelinePanel = new TimelinePanel(this::confirmBooking, booking -> cancelBooking(booking.id()));
+
+        // Full booking list, paged from the server
+        browserPanel = new BookingBrowserPanel(apiService, scheduler);
     }
 
     private void setupTable() {
@@ -83,6 +246,9 @@ public class AdminPanel extends JFrame {
         // Custom renderer for actions column
         bookingsTable.getColumnModel().getColumn(6).setCellRenderer(new ActionCellRenderer());
         bookingsTable.getColumnModel().getColumn(6).setCellEditor(new ActionCellEditor());
+
+        // Sortable columns show their direction and precedence in the header
+        bookingsTable.getTableHeader().setToolTipText("Click to sort, shift-click to add a secondary sort");
     }
 
     private void setupLayout() {
@@ -98,25 +264,43 @@ public class AdminPanel extends JFrame {
         filtersPanel.add(new JLabel("Status:"));
         filtersPanel.add(statusFilter);
         filtersPanel.add(Box.createHorizontalStrut(20));
+        filtersPanel.add(new JLabel("Group:"));
+        filtersPanel.add(groupBy);
+        filtersPanel.add(Box.createHorizontalStrut(20));
+        filtersPanel.add(new JLabel("Search:"));
+        filtersPanel.add(searchField);
+        filtersPanel.add(Box.createHorizontalStrut(20));
         filtersPanel.add(refreshButton);
+        filtersPanel.add(exportButton);
+        filtersPanel.add(historyButton);
+        filtersPanel.add(diagnosticsButton);
         
         JPanel userPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        userPanel.add(new JLabel("Welcome, " + currentUser.getName()));
+        userPanel.add(new JLabel("Welcome, " + currentUser.name()));
+        userPanel.add(newSessionButton);
         userPanel.add(logoutButton);
         
         topPanel.add(filtersPanel, BorderLayout.WEST);
         topPanel.add(userPanel, BorderLayout.EAST);
         
-        // Center panel with table
+        // Center panel with table and analytics tabs
         JScrollPane scrollPane = new JScrollPane(bookingsTable);
         scrollPane.setPreferredSize(new Dimension(1000, 500));
+
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("Bookings", scrollPane);
+        tabbedPane.addTab("Timeline", timelinePanel);
+        tabbedPane.addTab("Analytics", analyticsPanel);
+        tabbedPane.addTab("All Bookings", browserPanel);
         
         // Bottom panel with status
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         bottomPanel.add(statusLabel);
+        bottomPanel.add(exportProgress);
+        bottomPanel.add(cancelExportButton);
         
         add(topPanel, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
+        add(tabbedPane, BorderLayout.CENTER);
         add(bottomPanel, BorderLayout.SOUTH);
         
         pack();
@@ -124,12 +308,80 @@ public class AdminPanel extends JFrame {
     }
 
     private void setupEventListeners() {
-        refreshButton.addActionListener(e -> loadBookings());
+        refreshButton.addActionListener(e -> loadBookings(false));
         
-        courtFilter.addActionListener(e -> loadBookings());
-        statusFilter.addActionListener(e -> loadBookings());
+        courtFilter.addActionListener(e -> filterChanged());
+        statusFilter.addActionListener(e -> filterChanged());
+        groupBy.addActionListener(e -> sortAndShow(visibleBookings));
+
+        // Header clicks sort, shift-click adds a secondary sort column
+        bookingsTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = bookingsTable.convertColumnIndexToModel(
+                        bookingsTable.getTableHeader().columnAtPoint(e.getPoint()));
+                BookingSorter.Column sortColumn = sortColumn(column);
+                if (sortColumn != null) {
+                    toggleSort(sortColumn, e.isShiftDown());
+                }
+            }
+        });
+
+        // Clicking a group header collapses or expands it
+        bookingsTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = bookingsTable.rowAtPoint(e.getPoint());
+                int index = row >= 0 ? rows[bookingsTable.convertRowIndexToModel(row)] : 0;
+                if (index < 0) {
+                    String label = ordering.groupLabels()[-1 - index];
+                    if (!collapsedGroups.remove(label)) {
+                        collapsedGroups.add(label);
+                    }
+                    showRows(visibleBookings, ordering, false);
+                }
+            }
+        });
+
+        // Filter visible rows as the user types
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { applySearch(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { applySearch(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { applySearch(); }
+        });
         
         logoutButton.addActionListener(e -> logout());
+        newSessionButton.addActionListener(e -> sessions.openSession(this));
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                // Stop this session's background work, the shared scheduler outlives it
+                changedTimer.stop();
+                prefetchTimer.stop();
+                for (Future<?> prefetch : prefetches) {
+                    prefetch.cancel(false);
+                }
+                if (exportWorker != null) {
+                    exportWorker.cancel(true);
+                }
+                sessions.closed(AdminPanel.this);
+            }
+        });
+
+        exportButton.addActionListener(e -> exportBookings());
+        historyButton.addActionListener(e -> new HistoryDialog(this, archive, courts).setVisible(true));
+        diagnosticsButton.addActionListener(e -> new DiagnosticsDialog(this, UiWatchdog.get()).setVisible(true));
+        cancelExportButton.addActionListener(e -> {
+            if (exportWorker != null) {
+                exportWorker.cancel(true);
+            }
+        });
     }
 
     private void loadInitialData() {
@@ -137,7 +389,11 @@ public class AdminPanel extends JFrame {
             @Override
             protected Void doInBackground() throws Exception {
                 // Load courts
-                courts = apiService.getCourts();
+                courts = scheduler.call(Priority.VISIBLE, apiService::getCourts);
+
+                // Shared with the other sessions, null if unavailable
+                archive = sessions.archive();
+                transitions = sessions.filterTransitions();
                 return null;
             }
 
@@ -146,13 +402,16 @@ public class AdminPanel extends JFrame {
                 try {
                     get(); // Check for exceptions
                     
+                    historyButton.setEnabled(archive != null);
+
                     // Update court filter
                     for (Court court : courts) {
-                        courtFilter.addItem(new CourtOption(court.getId(), court.getName()));
+                        courtFilter.addItem(new CourtOption(court.id(), court.name()));
                     }
                     
                     // Load bookings
-                    loadBookings();
+                    currentView = selectedView();
+                    loadBookings(true);
                     
                 } catch (Exception ex) {
                     showError("Failed to load initial data: " + ex.getMessage());
@@ -163,28 +422,135 @@ public class AdminPanel extends JFrame {
         worker.execute();
     }
 
-    private void loadBookings() {
+    private View selectedView() {
+        CourtOption court = (CourtOption) courtFilter.getSelectedItem();
+        return new View(court != null ? court.getId() : null, (String) statusFilter.getSelectedItem());
+    }
+
+    // Learns the switch for prefetching, then shows the new view
+    private void filterChanged() {
+        View view = selectedView();
+        if (transitions != null && currentView != null && !view.equals(currentView)) {
+            transitions.record(currentView, view);
+            scheduler.submit(Priority.BACKGROUND, () -> {
+                try {
+                    transitions.save();
+                } catch (Exception ex) {
+                    System.out.println("Failed to save filter history: " + ex.getMessage());
+                }
+                return null;
+            });
+        }
+        currentView = view;
+        loadBookings(true);
+    }
+
+    /**
+     * Loads the bookings of the selected filters. With {@code useCache} a
+     * recently fetched or prefetched copy of the view is used if there is one.
+     */
+    private void loadBookings(boolean useCache) {
         statusLabel.setText("Loading bookings...");
         refreshButton.setEnabled(false);
+
+        // Prefetches still queued were guesses from the previous view
+        prefetchTimer.stop();
+        for (Future<?> prefetch : prefetches) {
+            prefetch.cancel(false);
+        }
+        prefetches.clear();
+
+        View view = selectedView();
+        int generation = ++loadGeneration;
+        browserPanel.reload(view.courtId(), view.status());
         
-        SwingWorker<List<Booking>, Void> worker = new SwingWorker<List<Booking>, Void>() {
+        SwingWorker<List<Booking>, List<Booking>> worker = new SwingWorker<List<Booking>, List<Booking>>() {
+            private final long cutoff = System.currentTimeMillis() - ARCHIVE_AFTER_MILLIS;
+            private final List<List<Booking>> arrived = new ArrayList<>(); // courts received so far, EDT only
+            private Set<Integer> conflicts;
+            private TimelinePanel.TimelineModel timelineModel;
+            private int archived = -1; // unknown for a cache hit, which was archived when it was cached
+
             @Override
             protected List<Booking> doInBackground() throws Exception {
-                CourtOption selectedCourt = (CourtOption) courtFilter.getSelectedItem();
-                String selectedStatus = (String) statusFilter.getSelectedItem();
-                
-                Integer courtId = selectedCourt != null ? selectedCourt.getId() : null;
-                return apiService.getAllBookings(courtId, selectedStatus);
+                Integer courtId = view.courtId();
+                String selectedStatus = view.status();
+                List<Booking> loaded = useCache ? viewCache.get(view) : null;
+                if (loaded == null) {
+                    long epoch = viewCache.epoch();
+                    if (courtId == null && FAN_OUT_CONCURRENCY > 0 && !courts.isEmpty()) {
+                        loaded = scheduler.call(Priority.VISIBLE, () -> apiService.getAllBookingsFanOut(courts,
+                                selectedStatus, FAN_OUT_CONCURRENCY, (court, courtBookings) -> publish(courtBookings)));
+                    } else {
+                        loaded = scheduler.call(Priority.VISIBLE,
+                                () -> apiService.getAllBookings(courtId, selectedStatus));
+                    }
+                    // Cache only what stays live, so a cache hit has nothing left to archive
+                    List<Booking> live = archiveOld(loaded, cutoff);
+                    archived = loaded.size() - live.size();
+                    loaded = live;
+                    viewCache.put(view, loaded, false, epoch);
+                }
+                // Rows are highlighted against every confirmed booking on the courts in
+                // view, which a PENDING or CANCELLED filter leaves out of the loaded rows
+                List<Booking> confirmed = selectedStatus.equals("ALL") || selectedStatus.equals("CONFIRMED")
+                        ? loaded : confirmedBookings(courtId, cutoff);
+
+                // Keep the indexes in step with the new data off the EDT. A cache hit
+                // can overtake a slower load of the previous filter, which must then
+                // leave the shared indexes alone
+                synchronized (searchIndex) {
+                    if (generation != loadGeneration) {
+                        return null;
+                    }
+                    searchIndex.sync(loaded);
+                    intervalIndex.build(confirmed);
+                    conflicts = intervalIndex.conflictingIds(loaded);
+                }
+                timelineModel = TimelinePanel.buildModel(loaded);
+                return loaded;
+            }
+
+            // Shows courts as they arrive in a fan-out load, before indexing
+            @Override
+            protected void process(List<List<Booking>> courtBookings) {
+                // Courts still arriving for an abandoned load must not paint over the current view
+                if (generation != loadGeneration) {
+                    return;
+                }
+                for (List<Booking> bookingsOfCourt : courtBookings) {
+                    List<Booking> live = new ArrayList<>(bookingsOfCourt.size());
+                    for (Booking booking : bookingsOfCourt) {
+                        if (archive == null || !isArchivable(booking, cutoff)) {
+                            live.add(booking);
+                        }
+                    }
+                    arrived.add(live);
+                }
+                statusLabel.setText("Loading bookings... " + arrived.size() + " of " + courts.size() + " courts");
+                // Search results wait for the index, which is built once all courts are in
+                if (!isDone() && searchField.getText().isBlank()) {
+                    sortAndShow(ApiService.mergeNewestFirst(arrived));
+                }
             }
 
             @Override
             protected void done() {
+                if (generation != loadGeneration) {
+                    return;
+                }
                 refreshButton.setEnabled(true);
                 
                 try {
                     bookings = get();
-                    tableModel.fireTableDataChanged();
-                    statusLabel.setText("Loaded " + bookings.size() + " bookings");
+                    if (archived >= 0) {
+                        archivedCount = archived;
+                    }
+                    conflictingIds = conflicts;
+                    applySearch();
+                    timelinePanel.setModel(timelineModel);
+                    analyticsPanel.refresh(bookings);
+                    prefetchTimer.restart();
                     
                 } catch (Exception ex) {
                     showError("Failed to load bookings: " + ex.getMessage());
@@ -196,11 +562,362 @@ public class AdminPanel extends JFrame {
         worker.execute();
     }
 
-    private void confirmBooking(int bookingId) {
+    // Warms the views most likely to be chosen next, once nothing on screen is loading
+    private void prefetchLikelyViews() {
+        if (transitions == null || currentView == null) {
+            return;
+        }
+        for (RequestScheduler.QueueStats stats : scheduler.stats()) {
+            if (stats.priority() != Priority.BACKGROUND && stats.queued() + stats.running() > 0) {
+                prefetchTimer.restart();
+                return;
+            }
+        }
+
+        Set<Integer> courtIds = new HashSet<>();
+        for (Court court : courts) {
+            courtIds.add(court.id());
+        }
+        for (View view : transitions.predict(currentView, PREFETCH_VIEWS, PREFETCH_MIN_SHARE)) {
+            if (viewCache.contains(view) || (view.courtId() != null && !courtIds.contains(view.courtId()))) {
+                continue;
+            }
+            long epoch = viewCache.epoch();
+            long cutoff = System.currentTimeMillis() - ARCHIVE_AFTER_MILLIS;
+            prefetches.add(scheduler.submit(Priority.BACKGROUND, () -> {
+                try {
+                    viewCache.put(view, archiveOld(apiService.getAllBookings(view.courtId(), view.status()), cutoff),
+                            true, epoch);
+                } catch (Exception ex) {
+                    // Only a guess, the view loads normally if it is chosen
+                }
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * The live confirmed bookings on the court (or all courts when null), from
+     * the view cache when it has them. Empty if they can't be fetched, which
+     * only costs the conflict highlights. Call this off the EDT.
+     */
+    private List<Booking> confirmedBookings(Integer courtId, long cutoff) {
+        View view = new View(courtId, BookingStatus.CONFIRMED.name());
+        List<Booking> confirmed = viewCache.get(view);
+        if (confirmed == null) {
+            long epoch = viewCache.epoch();
+            try {
+                confirmed = archiveOld(scheduler.call(Priority.VISIBLE,
+                        () -> apiService.getAllBookings(courtId, BookingStatus.CONFIRMED.name())), cutoff);
+            } catch (IOException | ApiService.ApiException ex) {
+                System.out.println("Failed to load confirmed bookings: " + ex.getMessage());
+                return List.of();
+            }
+            viewCache.put(view, confirmed, false, epoch);
+        }
+        return confirmed;
+    }
+
+    /**
+     * Moves the bookings that ended before the cutoff to the archive and
+     * returns the rest. Returns the bookings unchanged when there is no
+     * archive or it can't be written. Call this off the EDT.
+     */
+    private List<Booking> archiveOld(List<Booking> loaded, long cutoff) {
+        if (archive == null) {
+            return loaded;
+        }
+        List<Booking> live = new ArrayList<>();
+        List<Booking> old = new ArrayList<>();
+        for (Booking booking : loaded) {
+            if (isArchivable(booking, cutoff)) {
+                old.add(booking);
+            } else {
+                live.add(booking);
+            }
+        }
+        try {
+            archive.archive(old);
+            return live;
+        } catch (IOException ex) {
+            // Nothing was lost, the old bookings just stay live until a later load archives them
+            System.out.println("Failed to archive bookings: " + ex.getMessage());
+            return loaded;
+        }
+    }
+
+    private static boolean isArchivable(Booking booking, long cutoff) {
+        long end = booking.endMillis();
+        return end != Booking.INVALID_TIME && end < cutoff;
+    }
+
+    private void applySearch() {
+        Set<Integer> matches = searchIndex.search(searchField.getText());
+        List<Booking> matching;
+        if (matches == null) {
+            matching = bookings;
+        } else {
+            matching = new ArrayList<>(matches.size());
+            for (Booking booking : bookings) {
+                if (matches.contains(booking.id())) {
+                    matching.add(booking);
+                }
+            }
+        }
+        sortAndShow(matching);
+
+        String text = matches == null
+                ? "Loaded " + bookings.size() + " bookings"
+                : "Showing " + matching.size() + " of " + bookings.size() + " bookings";
+        if (!conflictingIds.isEmpty()) {
+            text += " (" + conflictingIds.size() + " overlapping a confirmed booking)";
+        }
+        if (archivedCount > 0) {
+            text += ", " + archivedCount + " older bookings in History";
+        }
+        statusLabel.setText(text);
+    }
+
+    /**
+     * Sorts and groups the bookings off the EDT, then shows them. The table
+     * keeps showing the previous list and order until the new order is ready.
+     */
+    private void sortAndShow(List<Booking> list) {
+        int generation = ++sortGeneration;
+        List<SortKey> keys = List.copyOf(sortKeys);
+        Grouping grouping = Grouping.values()[groupBy.getSelectedIndex()];
+        if (keys.isEmpty() && grouping == Grouping.NONE) {
+            showOrdering(list, Ordering.identity(list.size()));
+            return;
+        }
+
+        SwingWorker<Ordering, Void> worker = new SwingWorker<Ordering, Void>() {
+            @Override
+            protected Ordering doInBackground() {
+                return BookingSorter.sort(list, grouping, keys);
+            }
+
+            @Override
+            protected void done() {
+                if (generation != sortGeneration) {
+                    return;
+                }
+                try {
+                    showOrdering(list, get());
+                } catch (Exception ex) {
+                    showError("Failed to sort bookings: " + ex.getMessage());
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private void showOrdering(List<Booking> list, Ordering newOrdering) {
+        showRows(list, newOrdering, true);
+    }
+
+    /**
+     * Installs new rows and tells the table only what changed, matching rows
+     * by booking id. While the order of the remaining rows holds (a reload, a
+     * search, a collapse) that is row deletes, inserts and updates, so
+     * selection, scroll position and an open action editor carry over and
+     * repainting is limited to the changed rows. A new order needs a full
+     * refresh, after which the selection and scroll position are put back.
+     */
+    private void showRows(List<Booking> list, Ordering newOrdering, boolean highlightChanges) {
+        List<Booking> oldList = visibleBookings;
+        int[] oldRows = rows;
+        int[] oldKeys = rowKeys();
+
+        // View state, found again after the change through the old rows
+        int selectedRow = bookingsTable.getSelectedRow();
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, bookingsTable);
+        Rectangle view = bookingsTable.getVisibleRect();
+        int topRow = bookingsTable.rowAtPoint(view.getLocation());
+        int topOffset = topRow >= 0 ? view.y - bookingsTable.getCellRect(topRow, 0, true).y : 0;
+        int editingRow = bookingsTable.isEditing() ? bookingsTable.getEditingRow() : -1;
+
+        visibleBookings = list;
+        ordering = newOrdering;
+        rebuildRows();
+        RowDiff diff = RowDiff.compute(oldKeys, rowKeys());
+
+        // Group headers are cheap and their counts move, always repaint them
+        IntPredicate changed = row -> rows[row] < 0
+                || !oldList.get(oldRows[diff.newToOld[row]]).equals(list.get(rows[row]));
+
+        if (diff.orderPreserved) {
+            BitSet touched = diff.fireEvents(tableModel, changed);
+            if (highlightChanges && oldRows.length > 0 && !touched.isEmpty()) {
+                for (int row = touched.nextSetBit(0); row >= 0; row = touched.nextSetBit(row + 1)) {
+                    if (rows[row] >= 0) {
+                        changedIds.add(list.get(rows[row]).id());
+                    }
+                }
+                changedTimer.restart();
+            }
+        } else {
+            tableModel.fireTableDataChanged();
+            int newSelected = selectedRow >= 0 ? diff.oldToNew[selectedRow] : -1;
+            if (newSelected >= 0) {
+                bookingsTable.setRowSelectionInterval(newSelected, newSelected);
+            }
+        }
+
+        // The editor stays on its booking unless the booking went away or changed
+        if (editingRow >= 0 && bookingsTable.isEditing()) {
+            int newEditingRow = diff.oldToNew[editingRow];
+            if (newEditingRow < 0 || changed.test(newEditingRow)) {
+                bookingsTable.getCellEditor().cancelCellEditing();
+            } else if (newEditingRow != editingRow) {
+                bookingsTable.setEditingRow(newEditingRow);
+                bookingsTable.getEditorComponent().setBounds(
+                        bookingsTable.getCellRect(newEditingRow, bookingsTable.getEditingColumn(), false));
+            }
+        }
+
+        // Keep the top visible row where it was on screen
+        int newTopRow = topRow >= 0 ? diff.oldToNew[topRow] : -1;
+        if (viewport != null && newTopRow >= 0 && newTopRow != topRow) {
+            viewport.setViewPosition(new Point(view.x, bookingsTable.getCellRect(newTopRow, 0, true).y + topOffset));
+        }
+    }
+
+    // Booking id for booking rows, a negative key per group label for headers
+    private int[] rowKeys() {
+        int[] keys = new int[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            int index = rows[row];
+            keys[row] = index >= 0 ? visibleBookings.get(index).id()
+                    : -1 - groupKeys.computeIfAbsent(ordering.groupLabels()[-1 - index], label -> groupKeys.size());
+        }
+        return keys;
+    }
+
+    // Lays out group headers and the rows of expanded groups
+    private void rebuildRows() {
+        int[] order = ordering.order();
+        if (ordering.groupCount() == 0) {
+            rows = order;
+            return;
+        }
+        int count = ordering.groupCount();
+        for (int group = 0; group < ordering.groupCount(); group++) {
+            if (!collapsedGroups.contains(ordering.groupLabels()[group])) {
+                count += ordering.groupEnd(group) - ordering.groupStarts()[group];
+            }
+        }
+        rows = new int[count];
+        int row = 0;
+        for (int group = 0; group < ordering.groupCount(); group++) {
+            rows[row++] = -1 - group;
+            if (!collapsedGroups.contains(ordering.groupLabels()[group])) {
+                int start = ordering.groupStarts()[group];
+                int length = ordering.groupEnd(group) - start;
+                System.arraycopy(order, start, rows, row, length);
+                row += length;
+            }
+        }
+    }
+
+    // The booking shown on a table row, or null for a group header
+    private Booking bookingAt(int row) {
+        int index = rows[row];
+        return index >= 0 ? visibleBookings.get(index) : null;
+    }
+
+    private static BookingSorter.Column sortColumn(int modelColumn) {
+        switch (modelColumn) {
+            case 1: return BookingSorter.Column.USER;
+            case 2: return BookingSorter.Column.COURT;
+            case 3: return BookingSorter.Column.START;
+            case 5: return BookingSorter.Column.STATUS;
+            default: return null;
+        }
+    }
+
+    private void toggleSort(BookingSorter.Column column, boolean addKey) {
+        int existing = -1;
+        for (int i = 0; i < sortKeys.size(); i++) {
+            if (sortKeys.get(i).column() == column) {
+                existing = i;
+            }
+        }
+        if (existing >= 0 && (addKey || sortKeys.size() == 1)) {
+            // Flip the direction, keeping its place among the sort columns
+            SortKey key = sortKeys.get(existing);
+            sortKeys.set(existing, new SortKey(column, !key.ascending()));
+        } else if (addKey) {
+            sortKeys.add(new SortKey(column, true));
+        } else {
+            sortKeys.clear();
+            sortKeys.add(new SortKey(column, true));
+        }
+
+        for (int i = 0; i < tableModel.getColumnCount(); i++) {
+            TableColumn tableColumn = bookingsTable.getColumnModel().getColumn(bookingsTable.convertColumnIndexToView(i));
+            tableColumn.setHeaderValue(tableModel.getColumnName(i));
+        }
+        bookingsTable.getTableHeader().repaint();
+        sortAndShow(visibleBookings);
+    }
+
+    private void confirmBooking(Booking booking) {
+        boolean confirmedLoaded = "ALL".equals(statusFilter.getSelectedItem())
+                || "CONFIRMED".equals(statusFilter.getSelectedItem());
+
+        SwingWorker<List<Integer>, Void> worker = new SwingWorker<List<Integer>, Void>() {
+            @Override
+            protected List<Integer> doInBackground() throws Exception {
+                if (confirmedLoaded) {
+                    return intervalIndex.conflictsFor(booking);
+                }
+                // Confirmed bookings are filtered out of the table, check against the court's
+                BookingIntervalIndex courtIndex = new BookingIntervalIndex();
+                courtIndex.build(scheduler.call(Priority.INTERACTIVE,
+                        () -> apiService.getAllBookings(booking.courtId(), BookingStatus.CONFIRMED.name())));
+                return courtIndex.conflictsFor(booking);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    List<Integer> conflicts = get();
+                    if (!conflicts.isEmpty()) {
+                        StringBuilder ids = new StringBuilder();
+                        for (Integer id : conflicts) {
+                            ids.append(ids.length() > 0 ? ", #" : "#").append(id);
+                        }
+                        int option = JOptionPane.showConfirmDialog(AdminPanel.this,
+                            "Booking #" + booking.id() + " overlaps confirmed booking(s) " + ids
+                                + " on the same court.\nConfirm anyway?",
+                            "Booking Conflict",
+                            JOptionPane.YES_NO_OPTION,
+                            JOptionPane.WARNING_MESSAGE);
+                        if (option != JOptionPane.YES_OPTION) {
+                            return;
+                        }
+                    }
+                    updateBookingStatus(booking.id(), BookingStatus.CONFIRMED);
+
+                } catch (Exception ex) {
+                    showError("Failed to check booking conflicts: " + ex.getMessage());
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private void updateBookingStatus(int bookingId, BookingStatus newStatus) {
         SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
             @Override
             protected Void doInBackground() throws Exception {
-                apiService.updateBookingStatus(bookingId, "CONFIRMED");
+                scheduler.call(Priority.INTERACTIVE, () -> {
+                    apiService.updateBookingStatus(bookingId, newStatus);
+                    return null;
+                });
                 return null;
             }
 
@@ -208,10 +925,11 @@ public class AdminPanel extends JFrame {
             protected void done() {
                 try {
                     get(); // Check for exceptions
-                    loadBookings(); // Refresh the table
+                    viewCache.clear(); // Cached views may hold the old status
+                    loadBookings(false); // Refresh the table, which rebuilds the indexes and conflicts off the EDT
                     
                 } catch (Exception ex) {
-                    showError("Failed to confirm booking: " + ex.getMessage());
+                    showError("Failed to update booking: " + ex.getMessage());
                 }
             }
         };
@@ -220,26 +938,102 @@ public class AdminPanel extends JFrame {
     }
     
     private void cancelBooking(int bookingId) {
-        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+        updateBookingStatus(bookingId, BookingStatus.CANCELLED);
+    }
+
+    private void exportBookings() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Bookings");
+        chooser.setSelectedFile(new File("bookings-export.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        // CSV goes where the user chose, the columnar copy alongside it
+        String csvName = chooser.getSelectedFile().getAbsolutePath();
+        if (!csvName.toLowerCase().endsWith(".csv")) {
+            csvName += ".csv";
+        }
+        Path csvPath = Path.of(csvName);
+        Path columnarPath = Path.of(csvName.substring(0, csvName.length() - 4) + ".cbc");
+
+        CourtOption selectedCourt = (CourtOption) courtFilter.getSelectedItem();
+        Integer courtId = selectedCourt != null ? selectedCourt.getId() : null;
+        String selectedStatus = (String) statusFilter.getSelectedItem();
+
+        exportWorker = new SwingWorker<Long, Long>() {
+            private long written;
+
             @Override
-            protected Void doInBackground() throws Exception {
-                apiService.updateBookingStatus(bookingId, "CANCELLED");
-                return null;
+            protected Long doInBackground() throws Exception {
+                // Rows are streamed from the response straight into both files. The
+                // files are opened, closed and cleaned up on the scheduler thread that
+                // writes them: cancelling only interrupts the wait here, the task
+                // itself stops at the next row. They are written under temporary names
+                // and moved into place once complete, so a cancelled task still unwinding
+                // only ever deletes its own files, never those of a newer export
+                return scheduler.call(Priority.BACKGROUND, () -> {
+                    Path csvPart = Files.createTempFile(csvPath.getParent(), csvPath.getFileName().toString(), ".part");
+                    Path columnarPart = Files.createTempFile(columnarPath.getParent(),
+                            columnarPath.getFileName().toString(), ".part");
+                    try {
+                        long count;
+                        try (BookingWriter csv = new CsvBookingWriter(csvPart);
+                             BookingWriter columnar = new ColumnarBookingWriter(columnarPart)) {
+                            count = apiService.streamBookings(courtId, selectedStatus, booking -> {
+                                if (isCancelled()) {
+                                    throw new InterruptedIOException("Export cancelled");
+                                }
+                                csv.write(booking);
+                                columnar.write(booking);
+                                if (++written % 1000 == 0) {
+                                    publish(written);
+                                }
+                            });
+                        }
+                        Files.move(csvPart, csvPath, StandardCopyOption.REPLACE_EXISTING);
+                        Files.move(columnarPart, columnarPath, StandardCopyOption.REPLACE_EXISTING);
+                        return count;
+                    } catch (Exception ex) {
+                        // Writers are closed by now, drop the partial files
+                        Files.deleteIfExists(csvPart);
+                        Files.deleteIfExists(columnarPart);
+                        throw ex;
+                    }
+                });
+            }
+
+            @Override
+            protected void process(List<Long> counts) {
+                statusLabel.setText("Exporting... " + counts.get(counts.size() - 1) + " bookings written");
             }
 
             @Override
             protected void done() {
+                exportButton.setEnabled(true);
+                exportProgress.setVisible(false);
+                cancelExportButton.setVisible(false);
+
+                if (isCancelled()) {
+                    statusLabel.setText("Export cancelled");
+                    return;
+                }
                 try {
-                    get(); // Check for exceptions
-                    loadBookings(); // Refresh the table
-                    
+                    long count = get();
+                    statusLabel.setText("Exported " + count + " bookings to " + csvPath.getFileName()
+                            + " and " + columnarPath.getFileName());
                 } catch (Exception ex) {
-                    showError("Failed to cancel booking: " + ex.getMessage());
+                    showError("Failed to export bookings: " + ex.getMessage());
+                    statusLabel.setText("Export failed");
                 }
             }
         };
-        
-        worker.execute();
+
+        exportButton.setEnabled(false);
+        exportProgress.setVisible(true);
+        cancelExportButton.setVisible(true);
+        statusLabel.setText("Exporting...");
+        exportWorker.execute();
     }
 
     private void logout() {
@@ -249,8 +1043,7 @@ public class AdminPanel extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (option == JOptionPane.YES_OPTION) {
-            dispose();
-            System.exit(0);
+            dispose(); // Exits once no other session is open
         }
     }
 
@@ -264,7 +1057,7 @@ public class AdminPanel extends JFrame {
 
         @Override
         public int getRowCount() {
-            return bookings.size();
+            return rows.length;
         }
 
         @Override
@@ -274,22 +1067,40 @@ public class AdminPanel extends JFrame {
 
         @Override
         public String getColumnName(int column) {
+            // Sort direction, numbered when sorting by more than one column
+            BookingSorter.Column sortColumn = sortColumn(column);
+            for (int i = 0; i < sortKeys.size(); i++) {
+                if (sortKeys.get(i).column() == sortColumn) {
+                    String arrow = sortKeys.get(i).ascending() ? " \u25B2" : " \u25BC";
+                    return columnNames[column] + arrow + (sortKeys.size() > 1 ? String.valueOf(i + 1) : "");
+                }
+            }
             return columnNames[column];
         }
 
         @Override
         public Object getValueAt(int rowIndex, int columnIndex) {
-            if (rowIndex >= bookings.size()) return null;
+            if (rowIndex >= rows.length) return null;
+
+            if (rows[rowIndex] < 0) {
+                int group = -1 - rows[rowIndex];
+                String label = ordering.groupLabels()[group];
+                switch (columnIndex) {
+                    case 0: return collapsedGroups.contains(label) ? "\u25B6" : "\u25BC";
+                    case 1: return label + " (" + (ordering.groupEnd(group) - ordering.groupStarts()[group]) + ")";
+                    default: return null;
+                }
+            }
             
-            Booking booking = bookings.get(rowIndex);
+            Booking booking = visibleBookings.get(rows[rowIndex]);
             switch (columnIndex) {
-                case 0: return "#" + booking.getId();
-                case 1: return booking.getUser() != null ? 
-                    booking.getUser().getName() + "\n" + booking.getUser().getEmail() : "N/A";
-                case 2: return booking.getCourt() != null ? booking.getCourt().getName() : "N/A";
-                case 3: return booking.getFormattedStartTime();
-                case 4: return booking.getFormattedEndTime();
-                case 5: return booking.getStatus();
+                case 0: return "#" + booking.id();
+                case 1: return booking.user() != null ? 
+                    booking.user().name() + "\n" + booking.user().email() : "N/A";
+                case 2: return booking.court() != null ? booking.court().name() : "N/A";
+                case 3: return booking.formattedStartTime();
+                case 4: return booking.formattedEndTime();
+                case 5: return booking.status();
                 case 6: return booking; // Pass the booking object for actions
                 default: return null;
             }
@@ -297,7 +1108,7 @@ public class AdminPanel extends JFrame {
 
         @Override
         public boolean isCellEditable(int rowIndex, int columnIndex) {
-            return columnIndex == 6; // Only actions column is editable
+            return columnIndex == 6 && rows[rowIndex] >= 0; // Only actions column is editable
         }
     }
 
@@ -309,23 +1120,19 @@ public class AdminPanel extends JFrame {
             
             super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
             
-            String status = (String) value;
-            switch (status) {
-                case "PENDING":
-                    setBackground(new Color(255, 248, 220)); // Light yellow
-                    setForeground(Color.ORANGE.darker());
-                    break;
-                case "CONFIRMED":
-                    setBackground(new Color(220, 255, 220)); // Light green
-                    setForeground(Color.GREEN.darker());
-                    break;
-                case "CANCELLED":
-                    setBackground(new Color(255, 220, 220)); // Light red
-                    setForeground(Color.RED.darker());
-                    break;
-                default:
-                    setBackground(table.getBackground());
-                    setForeground(table.getForeground());
+            BookingStatus status = (BookingStatus) value;
+            if (status == BookingStatus.PENDING) {
+                setBackground(new Color(255, 248, 220)); // Light yellow
+                setForeground(Color.ORANGE.darker());
+            } else if (status == BookingStatus.CONFIRMED) {
+                setBackground(new Color(220, 255, 220)); // Light green
+                setForeground(Color.GREEN.darker());
+            } else if (status == BookingStatus.CANCELLED) {
+                setBackground(new Color(255, 220, 220)); // Light red
+                setForeground(Color.RED.darker());
+            } else {
+                setBackground(table.getBackground());
+                setForeground(table.getForeground());
             }
             
             return this;
@@ -387,7 +1194,7 @@ public class AdminPanel extends JFrame {
                     confirmButton.setPreferredSize(new Dimension(75, 25));
                     confirmButton.setFont(new Font("Arial", Font.PLAIN, 10));
                     confirmButton.addActionListener(e -> {
-                        confirmBooking(booking.getId());
+                        confirmBooking(booking);
                         stopCellEditing();
                     });
                     panel.add(confirmButton);
@@ -396,7 +1203,7 @@ public class AdminPanel extends JFrame {
                     cancelButton.setPreferredSize(new Dimension(75, 25));
                     cancelButton.setFont(new Font("Arial", Font.PLAIN, 10));
                     cancelButton.addActionListener(e -> {
-                        cancelBooking(booking.getId());
+                        cancelBooking(booking.id());
                         stopCellEditing();
                     });
                     panel.add(cancelButton);
@@ -0,0 +1,239 @@
+package org.courtbook.desktop.ui;
+
+import org.courtbook.desktop.analytics.BookingAnalytics;
+import org.courtbook.desktop.analytics.BookingAnalytics.CourtSummary;
+import org.courtbook.desktop.models.Booking;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Analytics tab: a weekday x hour occupancy heatmap and per-court summary.
+ * Aggregation runs on a background worker; the EDT only paints the snapshot.
+ */
+public class AnalyticsPanel extends JPanel {
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    private final BookingAnalytics analytics = new BookingAnalytics();
+    private final JComboBox<CourtChoice> courtChoice;
+    private final HeatmapComponent heatmap;
+    private final SummaryTableModel summaryModel;
+    private final JLabel infoLabel;
+    private volatile int refreshGeneration; // drops refreshes superseded by a newer one
+
+    public AnalyticsPanel() {
+        super(new BorderLayout());
+
+        courtChoice = new JComboBox<>();
+        courtChoice.addItem(new CourtChoice(null, "All Courts"));
+        courtChoice.addActionListener(e -> recomputeHeatmap());
+
+        heatmap = new HeatmapComponent();
+        summaryModel = new SummaryTableModel();
+        infoLabel = new JLabel(" ");
+
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        topPanel.add(new JLabel("Occupancy for:"));
+        topPanel.add(courtChoice);
+        topPanel.add(Box.createHorizontalStrut(20));
+        topPanel.add(infoLabel);
+
+        JTable summaryTable = new JTable(summaryModel);
+        JScrollPane summaryScroll = new JScrollPane(summaryTable);
+        summaryScroll.setPreferredSize(new Dimension(1000, 150));
+
+        add(topPanel, BorderLayout.NORTH);
+        add(heatmap, BorderLayout.CENTER);
+        add(summaryScroll, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Feeds freshly loaded bookings into the aggregation. Must be called on the EDT.
+     */
+    public void refresh(List<Booking> bookings) {
+        List<Booking> snapshot = new ArrayList<>(bookings);
+        Integer courtId = selectedCourtId();
+        int generation = ++refreshGeneration;
+
+        SwingWorker<Snapshot, Void> worker = new SwingWorker<Snapshot, Void>() {
+            @Override
+            protected Snapshot doInBackground() {
+                // The diff is against whatever was applied last, so an older load that
+                // starts after a newer one must not be applied at all
+                synchronized (analytics) {
+                    if (generation != refreshGeneration) {
+                        return null;
+                    }
+                    long start = System.nanoTime();
+                    Set<Integer> changed = analytics.update(snapshot);
+                    long elapsed = (System.nanoTime() - start) / 1_000_000;
+                    return new Snapshot(analytics.occupancy(courtId), analytics.summaries(), changed.size(), elapsed);
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (generation != refreshGeneration) {
+                    return;
+                }
+                try {
+                    Snapshot result = get();
+                    updateCourtChoices(result.summaries());
+                    heatmap.setGrid(result.grid());
+                    summaryModel.setSummaries(result.summaries());
+                    infoLabel.setText(result.changedCourts() + " court(s) updated in " + result.elapsedMillis() + " ms");
+                } catch (Exception ex) {
+                    infoLabel.setText("Failed to compute analytics: " + ex.getMessage());
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private void recomputeHeatmap() {
+        Integer courtId = selectedCourtId();
+        SwingWorker<long[][], Void> worker = new SwingWorker<long[][], Void>() {
+            @Override
+            protected long[][] doInBackground() {
+                return analytics.occupancy(courtId);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    heatmap.setGrid(get());
+                } catch (Exception ex) {
+                    infoLabel.setText("Failed to compute analytics: " + ex.getMessage());
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private Integer selectedCourtId() {
+        CourtChoice choice = (CourtChoice) courtChoice.getSelectedItem();
+        return choice != null ? choice.id : null;
+    }
+
+    private void updateCourtChoices(List<CourtSummary> summaries) {
+        for (CourtSummary summary : summaries) {
+            boolean present = false;
+            for (int i = 0; i < courtChoice.getItemCount(); i++) {
+                Integer id = courtChoice.getItemAt(i).id;
+                if (id != null && id == summary.courtId()) {
+                    present = true;
+                    break;
+                }
+            }
+            if (!present) {
+                courtChoice.addItem(new CourtChoice(summary.courtId(), summary.courtName()));
+            }
+        }
+    }
+
+    private record Snapshot(long[][] grid, List<CourtSummary> summaries, int changedCourts, long elapsedMillis) {}
+
+    // Weekday x hour grid, shaded by occupied minutes relative to the busiest cell
+    private static class HeatmapComponent extends JComponent {
+        private long[][] grid = new long[BookingAnalytics.DAYS][BookingAnalytics.HOURS];
+
+        HeatmapComponent() {
+            setPreferredSize(new Dimension(1000, 300));
+        }
+
+        void setGrid(long[][] grid) {
+            this.grid = grid;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            int labelWidth = 40;
+            int labelHeight = 20;
+            int cellWidth = Math.max(1, (getWidth() - labelWidth) / BookingAnalytics.HOURS);
+            int cellHeight = Math.max(1, (getHeight() - labelHeight) / BookingAnalytics.DAYS);
+
+            long max = 1;
+            for (long[] row : grid) {
+                for (long minutes : row) {
+                    max = Math.max(max, minutes);
+                }
+            }
+
+            g.setColor(Color.DARK_GRAY);
+            for (int hour = 0; hour < BookingAnalytics.HOURS; hour++) {
+                g.drawString(String.valueOf(hour), labelWidth + hour * cellWidth + 4, 14);
+            }
+            for (int day = 0; day < BookingAnalytics.DAYS; day++) {
+                int y = labelHeight + day * cellHeight;
+                g.setColor(Color.DARK_GRAY);
+                g.drawString(DAY_NAMES[day], 4, y + cellHeight / 2 + 5);
+                for (int hour = 0; hour < BookingAnalytics.HOURS; hour++) {
+                    float ratio = (float) grid[day][hour] / max;
+                    g.setColor(new Color(1f - ratio * 0.8f, 1f - ratio * 0.4f, 1f - ratio * 0.8f));
+                    g.fillRect(labelWidth + hour * cellWidth, y, cellWidth - 1, cellHeight - 1);
+                }
+            }
+        }
+    }
+
+    private static class SummaryTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"Court", "Bookings", "Cancellation Rate", "Avg Lead Time (h)", "Occupied Hours"};
+        private List<CourtSummary> summaries = List.of();
+
+        void setSummaries(List<CourtSummary> summaries) {
+            this.summaries = summaries;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return summaries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            CourtSummary summary = summaries.get(rowIndex);
+            switch (columnIndex) {
+                case 0: return summary.courtName();
+                case 1: return summary.bookings();
+                case 2: return String.format("%.1f%%", summary.cancellationRate() * 100);
+                case 3: return String.format("%.1f", summary.averageLeadTimeHours());
+                case 4: return String.format("%.1f", summary.occupiedHours());
+                default: return null;
+            }
+        }
+    }
+
+    private static class CourtChoice {
+        private final Integer id;
+        private final String name;
+
+        CourtChoice(Integer id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.courtbook.desktop.ui;
+
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.services.ApiService;
+import org.courtbook.desktop.services.RequestScheduler;
+import org.courtbook.desktop.services.RequestScheduler.Priority;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+
+/**
+ * Scrolls the complete server-side booking list without holding it in memory.
+ * Rows are fetched a page at a time from the paginated bookings endpoint as
+ * they scroll into view, plus one page ahead in the scroll direction. Only the
+ * most recently used pages are kept; rows whose page is not loaded show as
+ * placeholders until it arrives.
+ * Pages are reached by cursor: every loaded page yields the cursor of the next
+ * one, and a page further on is fetched from the nearest known cursor with a
+ * skip, so scrolling forward never makes the server count past earlier rows.
+ * The API caps a skip at {@link #MAX_SKIP_PAGES} pages, so a longer jump
+ * fetches the farthest page it can reach first and continues from there.
+ */
+public class BookingBrowserPanel extends JPanel {
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 40;
+    // Same limit as the API's BookingPageValidation: skip at most 10 times the page size
+    private static final int MAX_SKIP_PAGES = 10;
+
+    private final ApiService apiService;
+    private final RequestScheduler scheduler;
+    private final PagedBookingsTableModel tableModel = new PagedBookingsTableModel();
+    private final JTable table;
+    private final JScrollPane scrollPane;
+    private final JLabel statusLabel = new JLabel(" ");
+
+    // Page number -> rows, least recently used first
+    private final Map<Integer, Booking[]> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Booking[]> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Map<Integer, Future<?>> loading = new HashMap<>();
+    // Page number -> cursor the page starts after; page 0 starts at the beginning
+    private final TreeMap<Integer, String> cursors = new TreeMap<>();
+    private Integer courtId;
+    private String status;
+    private int rowCount;
+    private int generation; // drops pages fetched for an earlier filter
+    private int lastFirstRow;
+
+    public BookingBrowserPanel(ApiService apiService, RequestScheduler scheduler) {
+        super(new BorderLayout());
+        this.apiService = apiService;
+        this.scheduler = scheduler;
+        cursors.put(0, null);
+
+        table = new JTable(tableModel);
+        table.setRowHeight(24);
+        scrollPane = new JScrollPane(table);
+        scrollPane.getViewport().addChangeListener(e -> loadVisible());
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        bottomPanel.add(statusLabel);
+        add(scrollPane, BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        // Nothing is fetched while the panel is out of sight
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) {
+                loadVisible();
+            }
+        });
+    }
+
+    /**
+     * Starts over with a new filter. Rows on screen are kept until their
+     * pages are fetched again, so the scroll position does not jump.
+     */
+    public void reload(Integer courtId, String status) {
+        this.courtId = courtId;
+        this.status = status;
+        generation++;
+        for (Future<?> future : loading.values()) {
+            future.cancel(false);
+        }
+        loading.clear();
+        pages.clear();
+        cursors.clear();
+        cursors.put(0, null);
+        if (rowCount > 0) {
+            tableModel.fireTableRowsUpdated(0, rowCount - 1);
+        }
+        loadVisible();
+    }
+
+    // Requests the pages on screen, the page ahead, and drops requests that scrolled away
+    private void loadVisible() {
+        if (!isShowing()) {
+            return;
+        }
+        if (rowCount == 0) {
+            // The first page brings the row count
+            requestPage(0, Priority.VISIBLE);
+            return;
+        }
+
+        Rectangle view = scrollPane.getViewport().getViewRect();
+        int firstRow = Math.max(table.rowAtPoint(view.getLocation()), 0);
+        int lastRow = table.rowAtPoint(new Point(view.x, view.y + view.height - 1));
+        if (lastRow < 0) {
+            lastRow = rowCount - 1;
+        }
+        int firstPage = firstRow / PAGE_SIZE;
+        int lastPage = lastRow / PAGE_SIZE;
+        int aheadPage = firstRow >= lastFirstRow ? lastPage + 1 : firstPage - 1;
+        lastFirstRow = firstRow;
+
+        Iterator<Map.Entry<Integer, Future<?>>> requests = loading.entrySet().iterator();
+        while (requests.hasNext()) {
+            Map.Entry<Integer, Future<?>> request = requests.next();
+            int page = request.getKey();
+            if (page < firstPage - 1 || page > lastPage + 1) {
+                request.getValue().cancel(false);
+                requests.remove();
+            }
+        }
+
+        for (int page = firstPage; page <= lastPage; page++) {
+            requestPage(page, Priority.VISIBLE);
+        }
+        if (aheadPage >= 0 && aheadPage * PAGE_SIZE < rowCount) {
+            requestPage(aheadPage, Priority.BACKGROUND);
+        }
+        updateStatus();
+    }
+
+    private void requestPage(int page, Priority priority) {
+        if (pages.containsKey(page) || loading.containsKey(page)) {
+            return;
+        }
+        Map.Entry<Integer, String> anchor = cursors.floorEntry(page);
+        String cursor = anchor.getValue();
+        // Beyond the skip cap, a nearer page is fetched in its place for its cursor
+        int fetched = Math.min(page, anchor.getKey() + MAX_SKIP_PAGES);
+        int skip = (fetched - anchor.getKey()) * PAGE_SIZE;
+        Integer pageCourtId = courtId;
+        String pageStatus = status;
+        int pageGeneration = generation;
+
+        loading.put(page, scheduler.submit(priority, () -> {
+            try {
+                ApiService.BookingPage result = apiService.getBookingsPage(pageCourtId, pageStatus, cursor, skip, PAGE_SIZE);
+                SwingUtilities.invokeLater(() -> pageLoaded(pageGeneration, page, fetched, result));
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> pageFailed(pageGeneration, page, ex));
+            }
+            return null;
+        }));
+    }
+
+    // fetched is the page that arrived, a step towards the requested page if it was out of skip range
+    private void pageLoaded(int pageGeneration, int page, int fetched, ApiService.BookingPage result) {
+        if (pageGeneration != generation || loading.remove(page) == null) {
+            return;
+        }
+        pages.put(fetched, result.bookings().toArray(new Booking[0]));
+        if (result.nextCursor() != null) {
+            cursors.put(fetched + 1, result.nextCursor());
+        }
+
+        if (result.total() >= 0 && result.total() != rowCount) {
+            rowCount = result.total();
+            tableModel.fireTableDataChanged();
+            loadVisible();
+        } else if (fetched * PAGE_SIZE < rowCount) {
+            tableModel.fireTableRowsUpdated(fetched * PAGE_SIZE, Math.min(rowCount, (fetched + 1) * PAGE_SIZE) - 1);
+            if (fetched != page && result.nextCursor() != null) {
+                // Take the next step, unless the requested page has scrolled away meanwhile
+                loadVisible();
+            }
+        }
+        updateStatus();
+    }
+
+    private void pageFailed(int pageGeneration, int page, Exception ex) {
+        if (pageGeneration != generation || loading.remove(page) == null) {
+            return;
+        }
+        // Left unloaded, the page is requested again when it is next scrolled to
+        statusLabel.setText("Failed to load bookings: " + ex.getMessage());
+    }
+
+    private void updateStatus() {
+        statusLabel.setText(rowCount + " bookings, " + pages.size() + " pages cached"
+                + (loading.isEmpty() ? "" : ", loading " + loading.size()));
+    }
+
+    private class PagedBookingsTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"ID", "User", "Court", "Start Time", "End Time", "Status"};
+
+        @Override
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Booking[] page = pages.get(rowIndex / PAGE_SIZE);
+            int offset = rowIndex % PAGE_SIZE;
+            if (page == null || offset >= page.length) {
+                // Placeholder until the page arrives
+                return columnIndex == 1 ? "Loading..." : null;
+            }
+
+            Booking booking = page[offset];
+            switch (columnIndex) {
+                case 0: return "#" + booking.id();
+                case 1: return booking.user() != null ? booking.user().name() : "N/A";
+                case 2: return booking.court() != null ? booking.court().name() : "N/A";
+                case 3: return booking.formattedStartTime();
+                case 4: return booking.formattedEndTime();
+                case 5: return booking.status();
+                default: return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.courtbook.desktop.ui;
+
+import org.courtbook.desktop.diagnostics.UiWatchdog;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * UI responsiveness since start-up: latency percentiles from the watchdog and
+ * the recent EDT stalls with their sampled stacks.
+ */
+public class DiagnosticsDialog extends JDialog {
+    private final UiWatchdog watchdog;
+    private final PercentilesTableModel percentilesModel;
+    private final JList<UiWatchdog.Stall> stallList;
+    private final JTextArea stackArea;
+
+    public DiagnosticsDialog(Frame parent, UiWatchdog watchdog) {
+        super(parent, "UI Diagnostics", false);
+        this.watchdog = watchdog;
+
+        percentilesModel = new PercentilesTableModel();
+        JTable percentilesTable = new JTable(percentilesModel);
+        JScrollPane percentilesPane = new JScrollPane(percentilesTable);
+        percentilesPane.setPreferredSize(new Dimension(800, 90));
+
+        stallList = new JList<>();
+        stallList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        stallList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                UiWatchdog.Stall stall = (UiWatchdog.Stall) value;
+                String text = Instant.ofEpochMilli(stall.startMillis()) + "  " + stall.durationMillis() + " ms  " + stall.event();
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        stallList.addListSelectionListener(e -> showStacks(stallList.getSelectedValue()));
+
+        stackArea = new JTextArea();
+        stackArea.setEditable(false);
+        stackArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JSplitPane stallsPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(stallList), new JScrollPane(stackArea));
+        stallsPane.setPreferredSize(new Dimension(800, 400));
+        stallsPane.setResizeWeight(0.3);
+
+        JPanel centerPanel = new JPanel(new BorderLayout());
+        centerPanel.add(new JLabel("Stalls over " + watchdog.stallThresholdMillis() + " ms, newest first:"), BorderLayout.NORTH);
+        centerPanel.add(stallsPane, BorderLayout.CENTER);
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> refresh());
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        bottomPanel.add(refreshButton);
+        bottomPanel.add(new JLabel("Log: " + watchdog.log().file()));
+
+        setLayout(new BorderLayout());
+        add(percentilesPane, BorderLayout.NORTH);
+        add(centerPanel, BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refresh();
+        pack();
+        setLocationRelativeTo(parent);
+    }
+
+    private void refresh() {
+        percentilesModel.setPercentiles(watchdog.percentiles());
+        stallList.setListData(watchdog.stalls().toArray(new UiWatchdog.Stall[0]));
+        stackArea.setText("");
+    }
+
+    private void showStacks(UiWatchdog.Stall stall) {
+        if (stall == null) {
+            stackArea.setText("");
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        if (stall.samples().isEmpty()) {
+            text.append("No stack samples, the stall ended before the first sample.\n");
+        }
+        for (UiWatchdog.StackSample sample : stall.samples()) {
+            text.append(sample.count()).append(sample.count() == 1 ? " sample:\n" : " samples:\n")
+                    .append(sample.stack()).append('\n');
+        }
+        stackArea.setText(text.toString());
+        stackArea.setCaretPosition(0);
+    }
+
+    private static class PercentilesTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"Measure", "Count", "p50 (ms)", "p90 (ms)", "p99 (ms)", "Max (ms)"};
+        private List<UiWatchdog.Percentiles> percentiles = List.of();
+
+        void setPercentiles(List<UiWatchdog.Percentiles> percentiles) {
+            this.percentiles = percentiles;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return percentiles.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            UiWatchdog.Percentiles row = percentiles.get(rowIndex);
+            switch (columnIndex) {
+                case 0: return row.name();
+                case 1: return row.count();
+                case 2: return String.format("%.2f", row.p50Millis());
+                case 3: return String.format("%.2f", row.p90Millis());
+                case 4: return String.format("%.2f", row.p99Millis());
+                case 5: return String.format("%.2f", row.maxMillis());
+                default: return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.courtbook.desktop.ui;
+
+import org.courtbook.desktop.archive.BookingArchive;
+import org.courtbook.desktop.models.Booking;
+import org.courtbook.desktop.models.Court;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Offline lookup of archived bookings by court and date range.
+ */
+public class HistoryDialog extends JDialog {
+    private final BookingArchive archive;
+    private final JComboBox<Object> courtChoice;
+    private final JTextField fromField;
+    private final JTextField toField;
+    private final JButton searchButton;
+    private final JLabel resultLabel;
+    private final HistoryTableModel tableModel;
+
+    public HistoryDialog(Frame parent, BookingArchive archive, List<Court> courts) {
+        super(parent, "Booking History", false);
+        this.archive = archive;
+
+        courtChoice = new JComboBox<>();
+        courtChoice.addItem("All Courts");
+        for (Court court : courts) {
+            courtChoice.addItem(court);
+        }
+
+        // Default to last month
+        LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+        fromField = new JTextField(firstOfMonth.minusMonths(1).toString(), 10);
+        toField = new JTextField(firstOfMonth.minusDays(1).toString(), 10);
+        searchButton = new JButton("Search");
+        resultLabel = new JLabel(" ");
+        tableModel = new HistoryTableModel();
+
+        JPanel filtersPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filtersPanel.add(new JLabel("Court:"));
+        filtersPanel.add(courtChoice);
+        filtersPanel.add(new JLabel("From:"));
+        filtersPanel.add(fromField);
+        filtersPanel.add(new JLabel("To:"));
+        filtersPanel.add(toField);
+        filtersPanel.add(searchButton);
+
+        JScrollPane scrollPane = new JScrollPane(new JTable(tableModel));
+        scrollPane.setPreferredSize(new Dimension(800, 400));
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        bottomPanel.add(resultLabel);
+
+        setLayout(new BorderLayout());
+        add(filtersPanel, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        searchButton.addActionListener(e -> search());
+
+        pack();
+        setLocationRelativeTo(parent);
+    }
+
+    private void search() {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(fromField.getText().trim());
+            to = LocalDate.parse(toField.getText().trim());
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Dates must be in yyyy-MM-dd format", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        Object selected = courtChoice.getSelectedItem();
+        Integer courtId = selected instanceof Court court ? court.id() : null;
+
+        searchButton.setEnabled(false);
+        resultLabel.setText("Searching...");
+
+        SwingWorker<List<Booking>, Void> worker = new SwingWorker<List<Booking>, Void>() {
+            private long elapsedMillis;
+
+            @Override
+            protected List<Booking> doInBackground() {
+                long start = System.nanoTime();
+                // The "to" date is inclusive
+                List<Booking> result = archive.query(courtId,
+                        BookingArchive.startOf(from), BookingArchive.startOf(to.plusDays(1)));
+                elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                return result;
+            }
+
+            @Override
+            protected void done() {
+                searchButton.setEnabled(true);
+                try {
+                    List<Booking> result = get();
+                    tableModel.setBookings(result);
+                    resultLabel.setText("Found " + result.size() + " archived bookings in " + elapsedMillis + " ms");
+                } catch (Exception ex) {
+                    resultLabel.setText("Search failed: " + ex.getMessage());
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
+    private static class HistoryTableModel extends AbstractTableModel {
+        private final String[] columnNames = {"ID", "User", "Court", "Start Time", "End Time", "Status"};
+        private List<Booking> bookings = List.of();
+
+        void setBookings(List<Booking> bookings) {
+            this.bookings = bookings;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return bookings.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Booking booking = bookings.get(rowIndex);
+            switch (columnIndex) {
+                case 0: return "#" + booking.id();
+                case 1: return booking.user() != null ? booking.user().name() : "N/A";
+                case 2: return booking.court() != null ? booking.court().name() : "N/A";
+                case 3: return booking.formattedStartTime();
+                case 4: return booking.formattedEndTime();
+                case 5: return booking.status();
+                default: return null;
+            }
+        }
+    }
+}
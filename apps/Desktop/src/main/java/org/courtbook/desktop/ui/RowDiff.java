@@ -0,0 +1,118 @@
+package org.courtbook.desktop.ui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Difference between two row layouts, matched by an int key per row.
+ * Keys are matched with a sort-merge of packed (key, row) longs, so no boxing
+ * and no per-row hashing. When the rows present in both layouts keep their
+ * relative order the change can be reported as row deletes, inserts and
+ * updates; otherwise (a re-sort) only a full refresh describes it.
+ */
+final class RowDiff {
+    final int[] oldToNew; // -1 where the old row was removed
+    final int[] newToOld; // -1 where the new row was added
+    final boolean orderPreserved;
+
+    private RowDiff(int[] oldToNew, int[] newToOld, boolean orderPreserved) {
+        this.oldToNew = oldToNew;
+        this.newToOld = newToOld;
+        this.orderPreserved = orderPreserved;
+    }
+
+    static RowDiff compute(int[] oldKeys, int[] newKeys) {
+        long[] oldSorted = sortedByKey(oldKeys);
+        long[] newSorted = sortedByKey(newKeys);
+        int[] oldToNew = new int[oldKeys.length];
+        int[] newToOld = new int[newKeys.length];
+        Arrays.fill(oldToNew, -1);
+        Arrays.fill(newToOld, -1);
+
+        int i = 0;
+        int j = 0;
+        while (i < oldSorted.length && j < newSorted.length) {
+            int oldKey = (int) (oldSorted[i] >> 32);
+            int newKey = (int) (newSorted[j] >> 32);
+            if (oldKey < newKey) {
+                i++;
+            } else if (oldKey > newKey) {
+                j++;
+            } else {
+                int oldRow = (int) oldSorted[i++];
+                int newRow = (int) newSorted[j++];
+                oldToNew[oldRow] = newRow;
+                newToOld[newRow] = oldRow;
+            }
+        }
+
+        boolean orderPreserved = true;
+        int lastOld = -1;
+        for (int row = 0; row < newToOld.length && orderPreserved; row++) {
+            if (newToOld[row] >= 0) {
+                orderPreserved = newToOld[row] > lastOld;
+                lastOld = newToOld[row];
+            }
+        }
+        return new RowDiff(oldToNew, newToOld, orderPreserved);
+    }
+
+    /**
+     * Fires the change as runs of consecutive rows: deletes bottom-up in old
+     * row numbers, then inserts and updates top-down in new row numbers.
+     * Requires {@link #orderPreserved}. Returns the new rows that were added or
+     * that {@code changed} reports as updated.
+     */
+    BitSet fireEvents(AbstractTableModel model, IntPredicate changed) {
+        for (int row = oldToNew.length - 1; row >= 0; ) {
+            if (oldToNew[row] >= 0) {
+                row--;
+                continue;
+            }
+            int last = row;
+            while (row >= 0 && oldToNew[row] < 0) {
+                row--;
+            }
+            model.fireTableRowsDeleted(row + 1, last);
+        }
+
+        BitSet touched = new BitSet(newToOld.length);
+        for (int row = 0; row < newToOld.length; ) {
+            if (newToOld[row] >= 0) {
+                row++;
+                continue;
+            }
+            int first = row;
+            while (row < newToOld.length && newToOld[row] < 0) {
+                row++;
+            }
+            model.fireTableRowsInserted(first, row - 1);
+            touched.set(first, row);
+        }
+
+        for (int row = 0; row < newToOld.length; ) {
+            if (newToOld[row] < 0 || !changed.test(row)) {
+                row++;
+                continue;
+            }
+            int first = row;
+            while (row < newToOld.length && newToOld[row] >= 0 && changed.test(row)) {
+                row++;
+            }
+            model.fireTableRowsUpdated(first, row - 1);
+            touched.set(first, row);
+        }
+        return touched;
+    }
+
+    private static long[] sortedByKey(int[] keys) {
+        long[] packed = new long[keys.length];
+        for (int row = 0; row < keys.length; row++) {
+            packed[row] = ((long) keys[row] << 32) | row;
+        }
+        Arrays.parallelSort(packed);
+        return packed;
+    }
+}
@@ -0,0 +1,118 @@
+package org.courtbook.desktop.ui;
+
+import org.courtbook.desktop.archive.BookingArchive;
+import org.courtbook.desktop.models.User;
+import org.courtbook.desktop.services.ApiService;
+import org.courtbook.desktop.services.FilterTransitions;
+import org.courtbook.desktop.services.RequestScheduler;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The admin sessions open in this process, one {@link AdminPanel} window each.
+ * Every session logs in with its own ApiService, so tokens and cookies stay
+ * apart, and keeps its own bookings, filters and view cache. The sessions
+ * share one request scheduler, so the number of requests in flight does not
+ * grow with the number of open venues, though each gets its own background
+ * budget so an export in one window doesn't stall prefetches and filter
+ * history saves in the others. They also share one instance each of the local
+ * booking archive and filter history, which must not be opened twice on the
+ * same files. The process exits when the last session is closed.
+ */
+public class SessionManager {
+    private static final int CASCADE_OFFSET = 30;
+
+    private final String apiBaseUrl;
+    private final RequestScheduler scheduler = new RequestScheduler();
+    private final List<AdminPanel> panels = new ArrayList<>();
+
+    // Opened on first use, null if it couldn't be; guarded by this
+    private BookingArchive archive;
+    private boolean archiveOpened;
+    private FilterTransitions transitions;
+    private boolean transitionsOpened;
+
+    public SessionManager(String apiBaseUrl) {
+        this.apiBaseUrl = apiBaseUrl;
+    }
+
+    /**
+     * A view of the shared scheduler with a background budget of its own, for
+     * one new session.
+     */
+    public RequestScheduler newSessionScheduler() {
+        return scheduler.newSession();
+    }
+
+    /**
+     * The shared booking archive, or null if it can't be opened. Opens it on
+     * first use, call this off the EDT.
+     */
+    public synchronized BookingArchive archive() {
+        if (!archiveOpened) {
+            archiveOpened = true;
+            try {
+                archive = new BookingArchive(BookingArchive.defaultDirectory());
+            } catch (Exception ex) {
+                // Run without the archive, all bookings stay live
+                System.out.println("Booking archive unavailable: " + ex.getMessage());
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * The shared filter history, or null if it can't be opened. Opens it on
+     * first use, call this off the EDT.
+     */
+    public synchronized FilterTransitions filterTransitions() {
+        if (!transitionsOpened) {
+            transitionsOpened = true;
+            try {
+                transitions = new FilterTransitions(FilterTransitions.defaultFile());
+            } catch (Exception ex) {
+                // Run without prefetching, every filter switch loads from the server
+                System.out.println("Filter history unavailable: " + ex.getMessage());
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * Asks for a login and opens the new session's window. Returns false if
+     * the login dialog was closed without logging in.
+     */
+    public boolean openSession(Frame parent) {
+        ApiService apiService = new ApiService(apiBaseUrl);
+        LoginDialog loginDialog = new LoginDialog(parent, apiService);
+        loginDialog.setVisible(true);
+        if (!loginDialog.isLoginSuccessful()) {
+            return false;
+        }
+        show(apiService, loginDialog.getLoggedInUser());
+        return true;
+    }
+
+    /**
+     * Opens the window of a session that is already logged in.
+     */
+    public void show(ApiService apiService, User user) {
+        AdminPanel adminPanel = new AdminPanel(apiService, user, this);
+        if (!panels.isEmpty()) {
+            // Cascade from the newest window so sessions don't open exactly on top of each other
+            Point last = panels.get(panels.size() - 1).getLocation();
+            adminPanel.setLocation(last.x + CASCADE_OFFSET, last.y + CASCADE_OFFSET);
+        }
+        panels.add(adminPanel);
+        adminPanel.setVisible(true);
+    }
+
+    void closed(AdminPanel adminPanel) {
+        panels.remove(adminPanel);
+        if (panels.isEmpty()) {
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package org.courtbook.desktop.ui;
+
+import org.courtbook.desktop.models.Booking;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Day/week timeline of bookings with one lane per court.
+ * Only the visible time window and the lanes inside the scroll viewport are
+ * painted. Each lane keeps its bookings sorted by start time, so finding the
+ * first block in view is a binary search rather than a scan.
+ * Drag or shift+wheel to pan, ctrl+wheel to zoom, click a block for actions.
+ */
+public class TimelinePanel extends JPanel {
+    private static final int LANE_HEIGHT = 36;
+    private static final int HEADER_HEIGHT = 24;
+    private static final int LABEL_WIDTH = 140;
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    // Bookings last at most 8 hours; longer ones are drawn as outliers
+    private static final long MAX_DURATION = DAY;
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEE dd MMM");
+    private static final DateTimeFormatter RANGE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Consumer<Booking> onConfirm;
+    private final Consumer<Booking> onCancel;
+    private final LanesView lanesView;
+    private final HeaderView headerView;
+    private final LabelsView labelsView;
+    private final JScrollPane scrollPane;
+    private final JLabel rangeLabel;
+
+    private TimelineModel model = new TimelineModel(new TreeMap<>());
+    private long viewStart;
+    private double millisPerPixel;
+    private long spanMillis = DAY;
+
+    public TimelinePanel(Consumer<Booking> onConfirm, Consumer<Booking> onCancel) {
+        super(new BorderLayout());
+        this.onConfirm = onConfirm;
+        this.onCancel = onCancel;
+
+        lanesView = new LanesView();
+        headerView = new HeaderView();
+        labelsView = new LabelsView();
+
+        scrollPane = new JScrollPane(lanesView,
+                JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.setColumnHeaderView(headerView);
+        scrollPane.setRowHeaderView(labelsView);
+
+        JButton dayButton = new JButton("Day");
+        JButton weekButton = new JButton("Week");
+        JButton previousButton = new JButton("<");
+        JButton nextButton = new JButton(">");
+        JButton todayButton = new JButton("Today");
+        JButton zoomInButton = new JButton("+");
+        JButton zoomOutButton = new JButton("-");
+        rangeLabel = new JLabel();
+
+        dayButton.addActionListener(e -> setSpan(DAY));
+        weekButton.addActionListener(e -> setSpan(7 * DAY));
+        previousButton.addActionListener(e -> panBy(-spanMillis));
+        nextButton.addActionListener(e -> panBy(spanMillis));
+        todayButton.addActionListener(e -> {
+            viewStart = startOfToday();
+            viewChanged();
+        });
+        zoomInButton.addActionListener(e -> zoom(0.8, lanesView.getWidth() / 2));
+        zoomOutButton.addActionListener(e -> zoom(1.25, lanesView.getWidth() / 2));
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(dayButton);
+        controls.add(weekButton);
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(previousButton);
+        controls.add(todayButton);
+        controls.add(nextButton);
+        controls.add(Box.createHorizontalStrut(10));
+        controls.add(zoomOutButton);
+        controls.add(zoomInButton);
+        controls.add(Box.createHorizontalStrut(20));
+        controls.add(rangeLabel);
+
+        add(controls, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+
+        // Keep the chosen span filling the viewport when it is resized
+        lanesView.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                setSpan(spanMillis);
+            }
+        });
+
+        viewStart = startOfToday();
+        millisPerPixel = (double) DAY / 1000;
+        updateRangeLabel();
+    }
+
+    /**
+     * Groups bookings into per-court lanes sorted by start time. Safe to call
+     * off the EDT; the result is handed to {@link #setModel}.
+     */
+    public static TimelineModel buildModel(List<Booking> bookings) {
+        Map<Integer, List<Booking>> byCourt = new TreeMap<>();
+        Map<Integer, String> names = new TreeMap<>();
+        for (Booking booking : bookings) {
+            if (booking.startMillis() == Booking.INVALID_TIME
+                    || booking.endMillis() == Booking.INVALID_TIME) {
+                continue;
+            }
+            byCourt.computeIfAbsent(booking.courtId(), k -> new ArrayList<>()).add(booking);
+            if (booking.court() != null) {
+                names.put(booking.courtId(), booking.court().name());
+            }
+        }
+
+        Map<Integer, Lane> lanes = new TreeMap<>();
+        for (Map.Entry<Integer, List<Booking>> entry : byCourt.entrySet()) {
+            String name = names.getOrDefault(entry.getKey(), "Court " + entry.getKey());
+            lanes.put(entry.getKey(), new Lane(name, entry.getValue()));
+        }
+        return new TimelineModel(lanes);
+    }
+
+    public void setModel(TimelineModel model) {
+        this.model = model;
+        lanesView.revalidate();
+        labelsView.revalidate();
+        viewChanged();
+    }
+
+    private void setSpan(long span) {
+        spanMillis = span;
+        millisPerPixel = (double) span / Math.max(1, lanesView.getWidth());
+        viewChanged();
+    }
+
+    private void panBy(long millis) {
+        viewStart += millis;
+        viewChanged();
+    }
+
+    // Zooms around the given x so the time under the cursor stays put
+    private void zoom(double factor, int anchorX) {
+        long anchorTime = timeAt(anchorX);
+        millisPerPixel = Math.max(1000, Math.min(31 * DAY / 200.0, millisPerPixel * factor));
+        viewStart = anchorTime - (long) (anchorX * millisPerPixel);
+        spanMillis = (long) (millisPerPixel * Math.max(1, lanesView.getWidth()));
+        viewChanged();
+    }
+
+    private void viewChanged() {
+        updateRangeLabel();
+        headerView.repaint();
+        lanesView.repaint();
+    }
+
+    private void updateRangeLabel() {
+        long viewEnd = timeAt(Math.max(1, lanesView.getWidth()));
+        rangeLabel.setText(format(viewStart, RANGE_FORMAT) + "  -  " + format(viewEnd, RANGE_FORMAT));
+    }
+
+    private long timeAt(int x) {
+        return viewStart + (long) (x * millisPerPixel);
+    }
+
+    private int xAt(long time) {
+        return (int) ((time - viewStart) / millisPerPixel);
+    }
+
+    private static long startOfToday() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay() * DAY;
+    }
+
+    private static String format(long millis, DateTimeFormatter formatter) {
+        return Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC).format(formatter);
+    }
+
+    private static Color fillColor(Booking booking) {
+        if (booking.isPending()) return new Color(255, 230, 160);
+        if (booking.isConfirmed()) return new Color(170, 230, 170);
+        if (booking.isCancelled()) return new Color(240, 180, 180);
+        return new Color(200, 200, 220);
+    }
+
+    /**
+     * Immutable, time-sorted per-court bookings backing the timeline.
+     */
+    public static class TimelineModel {
+        private final Lane[] lanes;
+
+        private TimelineModel(Map<Integer, Lane> lanes) {
+            this.lanes = lanes.values().toArray(new Lane[0]);
+        }
+    }
+
+    // Bookings up to MAX_DURATION long are sorted by start, so a window only looks back
+    // that far; longer or malformed ones are rare and kept apart as outliers
+    private static class Lane {
+        private final String name;
+        private final Booking[] bookings;
+        private final long[] starts;
+        private final long[] ends;
+        private final Booking[] outliers;
+
+        Lane(String name, List<Booking> laneBookings) {
+            this.name = name;
+            List<Booking> regular = new ArrayList<>();
+            List<Booking> longer = new ArrayList<>();
+            for (Booking booking : laneBookings) {
+                (booking.endMillis() - booking.startMillis() <= MAX_DURATION ? regular : longer).add(booking);
+            }
+            bookings = regular.toArray(new Booking[0]);
+            Arrays.sort(bookings, (a, b) -> Long.compare(a.startMillis(), b.startMillis()));
+            starts = new long[bookings.length];
+            ends = new long[bookings.length];
+            for (int i = 0; i < bookings.length; i++) {
+                starts[i] = bookings[i].startMillis();
+                ends[i] = bookings[i].endMillis();
+            }
+            outliers = longer.toArray(new Booking[0]);
+        }
+
+        // Index of the first sorted booking that could still be running at the given time
+        int firstEndingAfter(long time) {
+            long from = time - MAX_DURATION;
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < from) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        Booking bookingAt(long time) {
+            for (int i = firstEndingAfter(time); i < starts.length && starts[i] <= time; i++) {
+                if (ends[i] > time) {
+                    return bookings[i];
+                }
+            }
+            for (Booking outlier : outliers) {
+                if (outlier.startMillis() <= time && outlier.endMillis() > time) {
+                    return outlier;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Lanes area; its width is the viewport, its height grows with the courts
+    private class LanesView extends JComponent {
+        private int dragX;
+
+        LanesView() {
+            setOpaque(true);
+            setBackground(Color.WHITE);
+            MouseAdapter mouse = new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    dragX = e.getX();
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    viewStart -= (long) ((e.getX() - dragX) * millisPerPixel);
+                    dragX = e.getX();
+                    viewChanged();
+                }
+
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    showActions(e);
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if ((e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
+                        zoom(e.getWheelRotation() > 0 ? 1.25 : 0.8, e.getX());
+                    } else if ((e.getModifiersEx() & InputEvent.SHIFT_DOWN_MASK) != 0) {
+                        panBy((long) (e.getWheelRotation() * 40 * millisPerPixel));
+                    } else {
+                        // Plain wheel keeps scrolling lanes vertically
+                        scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(LanesView.this, e, scrollPane));
+                    }
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+            addMouseWheelListener(mouse);
+            setToolTipText("");
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(800, Math.max(1, model.lanes.length) * LANE_HEIGHT);
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent e) {
+            Booking booking = bookingAt(e.getX(), e.getY());
+            if (booking == null) {
+                return null;
+            }
+            String user = booking.user() != null ? booking.user().name() : "N/A";
+            return "#" + booking.id() + " " + user + " " + booking.formattedStartTime()
+                    + " - " + booking.formattedEndTime() + " (" + booking.status() + ")";
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+            long windowStart = timeAt(clip.x);
+            long windowEnd = timeAt(clip.x + clip.width);
+            int firstLane = Math.max(0, clip.y / LANE_HEIGHT);
+            int lastLane = Math.min(model.lanes.length - 1, (clip.y + clip.height) / LANE_HEIGHT);
+
+            // Day boundaries
+            g.setColor(new Color(230, 230, 230));
+            for (long day = Math.floorDiv(windowStart, DAY) * DAY; day <= windowEnd; day += DAY) {
+                int x = xAt(day);
+                g.drawLine(x, clip.y, x, clip.y + clip.height);
+            }
+
+            FontMetrics metrics = g.getFontMetrics();
+            for (int laneIndex = firstLane; laneIndex <= lastLane; laneIndex++) {
+                Lane lane = model.lanes[laneIndex];
+                int y = laneIndex * LANE_HEIGHT;
+                g.setColor(new Color(240, 240, 240));
+                g.drawLine(clip.x, y + LANE_HEIGHT - 1, clip.x + clip.width, y + LANE_HEIGHT - 1);
+
+                for (int i = lane.firstEndingAfter(windowStart); i < lane.starts.length && lane.starts[i] < windowEnd; i++) {
+                    if (lane.ends[i] > windowStart) {
+                        paintBooking(g, metrics, lane.bookings[i], y);
+                    }
+                }
+                for (Booking outlier : lane.outliers) {
+                    if (outlier.startMillis() < windowEnd && outlier.endMillis() > windowStart) {
+                        paintBooking(g, metrics, outlier, y);
+                    }
+                }
+            }
+        }
+
+        private void paintBooking(Graphics g, FontMetrics metrics, Booking booking, int y) {
+            int x1 = xAt(booking.startMillis());
+            int width = Math.max(2, xAt(booking.endMillis()) - x1);
+            g.setColor(fillColor(booking));
+            g.fillRect(x1, y + 4, width, LANE_HEIGHT - 8);
+            g.setColor(Color.GRAY);
+            g.drawRect(x1, y + 4, width, LANE_HEIGHT - 8);
+
+            if (width > 40) {
+                String label = "#" + booking.id();
+                if (booking.user() != null && width > 120) {
+                    label += " " + booking.user().name();
+                }
+                g.setColor(Color.DARK_GRAY);
+                Shape oldClip = g.getClip();
+                g.clipRect(x1, y, width, LANE_HEIGHT);
+                g.drawString(label, x1 + 4, y + LANE_HEIGHT / 2 + metrics.getAscent() / 2 - 2);
+                g.setClip(oldClip);
+            }
+        }
+
+        private Booking bookingAt(int x, int y) {
+            int laneIndex = y / LANE_HEIGHT;
+            if (laneIndex < 0 || laneIndex >= model.lanes.length) {
+                return null;
+            }
+            return model.lanes[laneIndex].bookingAt(timeAt(x));
+        }
+
+        private void showActions(MouseEvent e) {
+            Booking booking = bookingAt(e.getX(), e.getY());
+            if (booking == null || !booking.isPending()) {
+                return;
+            }
+            JPopupMenu menu = new JPopupMenu();
+            JMenuItem confirmItem = new JMenuItem("Confirm #" + booking.id());
+            confirmItem.addActionListener(event -> onConfirm.accept(booking));
+            JMenuItem cancelItem = new JMenuItem("Cancel #" + booking.id());
+            cancelItem.addActionListener(event -> onCancel.accept(booking));
+            menu.add(confirmItem);
+            menu.add(cancelItem);
+            menu.show(this, e.getX(), e.getY());
+        }
+    }
+
+    // Time axis, painted for the visible window only
+    private class HeaderView extends JComponent {
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(800, HEADER_HEIGHT);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(getBackground() != null ? getBackground() : Color.LIGHT_GRAY);
+            g.fillRect(0, 0, getWidth(), getHeight());
+
+            long windowStart = timeAt(0);
+            long windowEnd = timeAt(getWidth());
+            double pixelsPerHour = HOUR / millisPerPixel;
+            long step = pixelsPerHour >= 40 ? HOUR : pixelsPerHour >= 8 ? 6 * HOUR : DAY;
+
+            g.setColor(Color.DARK_GRAY);
+            for (long t = Math.floorDiv(windowStart, step) * step; t <= windowEnd; t += step) {
+                int x = xAt(t);
+                boolean dayStart = Math.floorMod(t, DAY) == 0;
+                g.drawLine(x, dayStart ? 0 : HEADER_HEIGHT / 2, x, HEADER_HEIGHT);
+                String label = dayStart ? format(t, DAY_FORMAT) : String.format("%02d:00", Math.floorMod(t, DAY) / HOUR);
+                g.drawString(label, x + 3, HEADER_HEIGHT - 6);
+            }
+        }
+    }
+
+    // Court names, scrolled together with the lanes
+    private class LabelsView extends JComponent {
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(LABEL_WIDTH, Math.max(1, model.lanes.length) * LANE_HEIGHT);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            int firstLane = Math.max(0, clip.y / LANE_HEIGHT);
+            int lastLane = Math.min(model.lanes.length - 1, (clip.y + clip.height) / LANE_HEIGHT);
+            for (int laneIndex = firstLane; laneIndex <= lastLane; laneIndex++) {
+                int y = laneIndex * LANE_HEIGHT;
+                g.setColor(Color.DARK_GRAY);
+                g.drawString(model.lanes[laneIndex].name, 6, y + LANE_HEIGHT / 2 + 5);
+                g.setColor(new Color(220, 220, 220));
+                g.drawLine(0, y + LANE_HEIGHT - 1, LABEL_WIDTH, y + LANE_HEIGHT - 1);
+            }
+        }
+    }
+}
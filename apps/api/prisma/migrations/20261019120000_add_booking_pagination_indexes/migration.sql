@@ -0,0 +1,5 @@
+-- CreateIndex
+CREATE INDEX "Booking_startTime_id_idx" ON "Booking"("startTime", "id");
+
+-- CreateIndex
+CREATE INDEX "Booking_status_startTime_id_idx" ON "Booking"("status", "startTime", "id");
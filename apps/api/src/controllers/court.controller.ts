@@ -2,6 +2,7 @@ import CourtService from "../services/court.service";
 import { Request, Response } from "express";
 import { Booking, BookingStatus, User } from "@prisma/client";
 import {
+  BookingPageValidation,
   BookingStatusValidation,
   BookingValidation,
 } from "../utils/validation";
@@ -235,6 +236,17 @@ export default class CourtController {
         filters.status = status;
       }
 
+      // With a limit the list is returned in cursor-linked pages
+      if (req.query.limit !== undefined) {
+        const page = BookingPageValidation.parse(req.query);
+        const result = await this.courtService.getBookingsPage(filters, page);
+
+        return res.status(200).json({
+          status: "success",
+          data: result,
+        });
+      }
+
       const bookings = await this.courtService.getBookings(filters);
 
       return res.status(200).json({
@@ -244,6 +256,23 @@ export default class CourtController {
         },
       });
     } catch (error) {
+      if (error instanceof ZodError) {
+        const formattedErrors = error.issues.map((err) => ({
+          field: err.path.join("."),
+          message: err.message,
+        }));
+
+        return res.status(400).json({
+          status: "Validation failed",
+          errors: formattedErrors,
+        });
+      }
+      if (error instanceof Error && error.message === "Invalid cursor") {
+        return res.status(400).json({
+          status: "error",
+          message: error.message,
+        });
+      }
       return res.status(500).json({
         status: "error",
         message:
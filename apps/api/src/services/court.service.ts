@@ -1,5 +1,9 @@
 import PrismaDatabase from "../utils/database";
-import { Booking, BookingStatus, Court } from "@prisma/client";
+import { Booking, BookingStatus, Court, Prisma } from "@prisma/client";
+import {
+  decodeBookingCursor,
+  encodeBookingCursor,
+} from "../utils/pagination";
 
 export default class CourtService {
   private static instance_: CourtService;
@@ -354,6 +358,84 @@ export default class CourtService {
     });
   }
 
+  /**
+   * One page of bookings, newest first. Pages follow each other by keyset
+   * cursor so deep pages cost the same as the first one; skip jumps ahead
+   * that many rows after the cursor. The total is only counted for the
+   * first page (no cursor).
+   */
+  public async getBookingsPage(
+    filters: {
+      courtId?: number;
+      status?: BookingStatus | 'ALL';
+    },
+    page: {
+      limit: number;
+      cursor?: string;
+      skip?: number;
+    },
+  ): Promise<{ bookings: Booking[]; nextCursor: string | null; total?: number }> {
+    const where: Prisma.BookingWhereInput = {};
+
+    if (filters.courtId) {
+      where.courtId = filters.courtId;
+    }
+
+    if (filters.status && filters.status !== 'ALL') {
+      where.status = filters.status;
+    }
+
+    let pageWhere = where;
+    if (page.cursor) {
+      const after = decodeBookingCursor(page.cursor);
+      pageWhere = {
+        AND: [
+          where,
+          {
+            OR: [
+              { startTime: { lt: after.startTime } },
+              { startTime: after.startTime, id: { lt: after.id } },
+            ],
+          },
+        ],
+      };
+    }
+
+    const prisma = this.database.getPrismaClient();
+    const [bookings, total] = await Promise.all([
+      prisma.booking.findMany({
+        where: pageWhere,
+        include: {
+          court: true,
+          user: {
+            select: {
+              id: true,
+              name: true,
+              email: true,
+            }
+          }
+        },
+        orderBy: [{ startTime: 'desc' }, { id: 'desc' }],
+        skip: page.skip,
+        // One extra row tells whether another page follows
+        take: page.limit + 1,
+      }),
+      page.cursor ? undefined : prisma.booking.count({ where }),
+    ]);
+
+    const hasMore = bookings.length > page.limit;
+    if (hasMore) {
+      bookings.pop();
+    }
+    const last = bookings[bookings.length - 1];
+
+    return {
+      bookings,
+      nextCursor: hasMore ? encodeBookingCursor(last) : null,
+      total,
+    };
+  }
+
   /**
    * Get bookings that need status updates (for job monitoring)
    */
@@ -0,0 +1,24 @@
+/**
+ * Opaque cursor for keyset pagination of bookings ordered by
+ * startTime desc, id desc. It encodes the last booking of a page, so the next
+ * page is everything strictly after it in that order.
+ */
+export interface BookingCursor {
+  startTime: Date;
+  id: number;
+}
+
+export function encodeBookingCursor(booking: BookingCursor): string {
+  return Buffer.from(`${booking.startTime.toISOString()}_${booking.id}`).toString(
+    "base64url",
+  );
+}
+
+export function decodeBookingCursor(cursor: string): BookingCursor {
+  const [time, id] = Buffer.from(cursor, "base64url").toString().split("_");
+  const startTime = new Date(time);
+  if (isNaN(startTime.getTime()) || !/^\d+$/.test(id ?? "")) {
+    throw new Error("Invalid cursor");
+  }
+  return { startTime, id: Number(id) };
+}
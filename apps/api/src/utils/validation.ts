@@ -32,9 +32,32 @@ const BookingValidation = z.object({
 
 const BookingStatusValidation = z.enum(["CONFIRMED", "PENDING", "CANCELLED"]);
 type BookingStatusType = z.infer<typeof BookingStatusValidation>;
+
+// Skipped rows are still read by the database, so a jump is capped at this many pages
+const MAX_SKIP_PAGES = 10;
+
+const BookingPageValidation = z
+  .object({
+    limit: z.coerce
+      .number()
+      .int()
+      .min(1, { message: "Limit must be at least 1" })
+      .max(1000, { message: "Limit must be at most 1000" }),
+    cursor: z.string().optional(),
+    skip: z.coerce
+      .number()
+      .int()
+      .min(0, { message: "Skip must not be negative" })
+      .optional(),
+  })
+  .refine((page) => page.skip === undefined || page.skip <= page.limit * MAX_SKIP_PAGES, {
+    message: `Skip must be at most ${MAX_SKIP_PAGES} times the limit`,
+    path: ["skip"],
+  });
 export {
   UserRegistrationValidation,
   BookingValidation,
   BookingStatusValidation,
   BookingStatusType,
+  BookingPageValidation,
 };